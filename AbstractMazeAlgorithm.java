@@ -0,0 +1,70 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Random;
+
+/**
+ * Base class of the maze algorithms: times each generation to report its
+ * throughput and provides helpers for the odd-lattice (perfect maze) algorithms.
+ */
+public abstract class AbstractMazeAlgorithm implements MazeAlgorithm {
+
+    private volatile double cellsPerSecond = 0;
+
+    @Override
+    public final BitMaze generate(int width, int height, int difficulty, Random rng) {
+        long start = System.nanoTime();
+        BitMaze maze = carve(width, height, difficulty, rng);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        cellsPerSecond = (double) width * height * 1e9 / elapsed;
+        return maze;
+    }
+
+    @Override
+    public final double getCellsPerSecond() {
+        return cellsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    /**
+     * Actual generation, timed by {@link #generate(int, int, int, Random)}.
+     */
+    protected abstract BitMaze carve(int width, int height, int difficulty, Random rng);
+
+    // ---- Odd lattice helpers: cell (i, j) lives at grid (2i + 1, 2j + 1) ----
+
+    /** Number of lattice columns fitting in a grid of the given width */
+    protected static int latticeWidth(int width) {
+        return Math.max(0, (width - 1) / 2);
+    }
+
+    /** Number of lattice rows fitting in a grid of the given height */
+    protected static int latticeHeight(int height) {
+        return Math.max(0, (height - 1) / 2);
+    }
+
+    /**
+     * @return a maze full of walls, ready to be carved
+     */
+    protected static BitMaze solid(int width, int height) {
+        BitMaze maze = new BitMaze(width, height);
+        maze.fillWalls();
+        return maze;
+    }
+
+    /** Opens lattice cell (i, j) */
+    protected static void openCell(BitMaze maze, int i, int j) {
+        maze.setPath(2 * i + 1, 2 * j + 1);
+    }
+
+    /** Opens the wall between lattice cell (i, j) and its neighbour (i + di, j + dj) */
+    protected static void openWall(BitMaze maze, int i, int j, int di, int dj) {
+        maze.setPath(2 * i + 1 + di, 2 * j + 1 + dj);
+    }
+}
@@ -0,0 +1,108 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+
+/**
+ * Ordonnanceur d'activité d'une aire : un acteur loin du joueur ou endormi
+ * n'est mis à jour qu'une frame sur quelques-unes.
+ * <p>
+ * Chaque acteur concerné possède un Gate qui accumule le temps des frames
+ * sautées et le rend d'un bloc au passage suivant : un Cooldown voit donc
+ * exactement le même temps écoulé, seulement par paquets. Les acteurs sont
+ * répartis sur les frames (phase propre à chaque Gate) pour lisser la charge.
+ * Un événement (dégât, ...) réveille l'acteur via {@link Gate#wake()}.
+ */
+public final class ActivityScheduler {
+
+    /** Distance (en cellules, norme infinie) en deçà de laquelle tout acteur est mis à jour à chaque frame */
+    public static final int ACTIVE_RADIUS = 7;
+
+    /** Période de mise à jour d'un acteur éloigné du joueur */
+    public static final int FAR_PERIOD = 4;
+
+    /** Période de mise à jour d'un acteur endormi */
+    public static final int DORMANT_PERIOD = 8;
+
+    private long frame;
+    private int nextPhase;
+
+    // Position du joueur, ou null si l'aire n'en a pas (tous les acteurs sont alors proches)
+    private DiscreteCoordinates focus;
+
+    /**
+     * Appelé par l'aire au début de chaque mise à jour.
+     */
+    void beginFrame() {
+        frame++;
+    }
+
+    /**
+     * Indique la position autour de laquelle les acteurs restent pleinement actifs.
+     */
+    public void setFocus(DiscreteCoordinates focus) {
+        this.focus = focus;
+    }
+
+    /**
+     * @return un nouveau Gate pour un acteur de l'aire
+     */
+    public Gate newGate() {
+        return new Gate(this, nextPhase++);
+    }
+
+    private int periodFor(DiscreteCoordinates position, boolean dormant) {
+        if (dormant) return DORMANT_PERIOD;
+        if (focus == null) return 1;
+        int distance = Math.max(Math.abs(position.x - focus.x), Math.abs(position.y - focus.y));
+        return distance <= ACTIVE_RADIUS ? 1 : FAR_PERIOD;
+    }
+
+    /**
+     * Accès d'un acteur à la mise à jour, avec le temps qu'il a accumulé au repos.
+     */
+    public static final class Gate {
+
+        private final ActivityScheduler scheduler;
+        private final int phase;
+        private float pending;
+        private boolean woken;
+
+        private Gate(ActivityScheduler scheduler, int phase) {
+            this.scheduler = scheduler;
+            this.phase = phase;
+        }
+
+        /**
+         * Ajoute le temps de la frame et décide si l'acteur est mis à jour.
+         *
+         * @param position position actuelle de l'acteur
+         * @param dormant  vrai si l'acteur est dans un état de repos (sommeil...)
+         * @return vrai si l'acteur doit être mis à jour cette frame, avec le temps rendu par {@link #drain()}
+         */
+        public boolean admit(DiscreteCoordinates position, boolean dormant, float deltaTime) {
+            pending += deltaTime;
+            if (woken) {
+                woken = false;
+                return true;
+            }
+            int period = scheduler.periodFor(position, dormant);
+            return period == 1 || (scheduler.frame + phase) % period == 0;
+        }
+
+        /**
+         * @return le temps accumulé depuis le dernier passage, remis à zéro
+         */
+        public float drain() {
+            float elapsed = pending;
+            pending = 0f;
+            return elapsed;
+        }
+
+        /**
+         * Force une mise à jour à la prochaine frame, quelle que soit la distance.
+         */
+        public void wake() {
+            woken = true;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package ch.epfl.cs107.icmaze.profiling;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in cost accounting per actor class: instances created, instances
+ * updated/drawn per frame, update and draw time, interaction calls and bytes
+ * allocated on the game thread.
+ *
+ * Actors call {@link #enter} at the start of their update and draw. The area
+ * runs its actors one after another, so the time and allocation between two
+ * entries belong to the actor entered first (plus any unmarked actor drawn
+ * right after it). Health bars are drawn inside their owner's draw and are
+ * accounted separately with {@link #push}/{@link #pop}.
+ *
+ * Enabled with -Dicmaze.metrics=true; otherwise every hook is a test of a
+ * static final constant that the JIT removes. Only the creation counters may
+ * be touched off the game thread.
+ */
+public final class ActorMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("icmaze.metrics");
+
+    public enum Kind {
+        UPDATE, DRAW
+    }
+
+    private static final class Stats {
+        final String name;
+        final AtomicLong created = new AtomicLong();
+        long updates;
+        long draws;
+        long updateNanos;
+        long drawNanos;
+        long interactions;
+        long allocatedBytes;
+
+        Stats(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final List<Stats> ALL = new ArrayList<>();
+    private static final ClassValue<Stats> STATS = new ClassValue<>() {
+        @Override
+        protected Stats computeValue(Class<?> type) {
+            Stats stats = new Stats(type.getSimpleName());
+            synchronized (ALL) {
+                ALL.add(stats);
+            }
+            return stats;
+        }
+    };
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    // Open segment: current actor, pass, and the readings taken when it opened
+    private static Object openActor;
+    private static Stats open;
+    private static Kind openKind;
+    private static long openNanos;
+    private static long openBytes;
+
+    // Segment suspended during a nested measure (health bar)
+    private static Object savedActor;
+    private static Stats saved;
+    private static Kind savedKind;
+
+    private static long frames;
+
+    private ActorMetrics() {}
+
+    /**
+     * Counts a new instance; may be called from any thread.
+     */
+    public static void created(Object actor) {
+        if (!ENABLED) return;
+        STATS.get(actor.getClass()).created.incrementAndGet();
+    }
+
+    /**
+     * Start of the update or draw of an actor; ignored if this actor is already open
+     * for the same pass (subclass and superclass both reporting).
+     */
+    public static void enter(Object actor, Kind kind) {
+        if (!ENABLED || (actor == openActor && kind == openKind)) return;
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        close(nanos, bytes);
+
+        Stats stats = STATS.get(actor.getClass());
+        if (kind == Kind.UPDATE) stats.updates++;
+        else stats.draws++;
+        open(actor, stats, kind, nanos, bytes);
+    }
+
+    /**
+     * Suspends the open segment and accounts what follows to the given type, until {@link #pop}.
+     */
+    public static void push(Object part, Kind kind) {
+        if (!ENABLED) return;
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        savedActor = openActor;
+        saved = open;
+        savedKind = openKind;
+        close(nanos, bytes);
+
+        Stats stats = STATS.get(part.getClass());
+        if (kind == Kind.UPDATE) stats.updates++;
+        else stats.draws++;
+        open(part, stats, kind, nanos, bytes);
+    }
+
+    /**
+     * Ends a nested measure and resumes the suspended segment.
+     */
+    public static void pop() {
+        if (!ENABLED) return;
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        close(nanos, bytes);
+        if (saved != null) open(savedActor, saved, savedKind, nanos, bytes);
+        savedActor = null;
+        saved = null;
+        savedKind = null;
+    }
+
+    /**
+     * Counts one interaction call of an interactor; also ends its update segment,
+     * as interactions only start once every actor has been updated.
+     */
+    public static void interaction(Object interactor) {
+        if (!ENABLED) return;
+        STATS.get(interactor.getClass()).interactions++;
+        if (openKind == Kind.UPDATE) close(System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * End of an area update: closes the open segment and counts a frame.
+     */
+    public static void endFrame() {
+        if (!ENABLED) return;
+        close(System.nanoTime(), allocatedBytes());
+        frames++;
+    }
+
+    /**
+     * End of a draw pass: closes the open segment so that it does not run on
+     * until the next update.
+     */
+    public static void endDraw() {
+        if (!ENABLED) return;
+        close(System.nanoTime(), allocatedBytes());
+    }
+
+    public static long frames() {
+        return frames;
+    }
+
+    /**
+     * Writes one line per actor class, values per frame except the creation count.
+     */
+    public static void writeCsv(Appendable out) throws IOException {
+        out.append("class,created,live_per_frame,update_ns_per_frame,draw_ns_per_frame,"
+                + "interactions_per_frame,allocated_bytes_per_frame").append(System.lineSeparator());
+        for (Stats s : snapshot()) {
+            out.append(String.format(Locale.ROOT, "%s,%d,%.2f,%.0f,%.0f,%.2f,%.0f%n",
+                    s.name, s.created.get(), live(s), perFrame(s.updateNanos), perFrame(s.drawNanos),
+                    perFrame(s.interactions), perFrame(s.allocatedBytes)));
+        }
+    }
+
+    /**
+     * Same content as {@link #writeCsv}, as a JSON document.
+     */
+    public static void writeJson(Appendable out) throws IOException {
+        out.append("{\"frames\":").append(Long.toString(frames)).append(",\"actors\":[");
+        boolean first = true;
+        for (Stats s : snapshot()) {
+            if (!first) out.append(',');
+            first = false;
+            out.append(String.format(Locale.ROOT,
+                    "%n  {\"class\":%s,\"created\":%d,\"livePerFrame\":%.2f,\"updateNanosPerFrame\":%.0f,"
+                            + "\"drawNanosPerFrame\":%.0f,\"interactionsPerFrame\":%.2f,\"allocatedBytesPerFrame\":%.0f}",
+                    jsonString(s.name), s.created.get(), live(s), perFrame(s.updateNanos), perFrame(s.drawNanos),
+                    perFrame(s.interactions), perFrame(s.allocatedBytes)));
+        }
+        out.append(String.format("%n]}%n"));
+    }
+
+    /**
+     * @return the value as a quoted JSON string, with quotes, backslashes and control characters escaped
+     */
+    private static String jsonString(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) quoted.append(String.format("\\u%04x", (int) c));
+                    else quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static void open(Object actor, Stats stats, Kind kind, long nanos, long bytes) {
+        openActor = actor;
+        open = stats;
+        openKind = kind;
+        openNanos = nanos;
+        openBytes = bytes;
+    }
+
+    private static void close(long nanos, long bytes) {
+        if (open == null) return;
+        if (openKind == Kind.UPDATE) open.updateNanos += nanos - openNanos;
+        else open.drawNanos += nanos - openNanos;
+        if (bytes >= 0) open.allocatedBytes += bytes - openBytes;
+        openActor = null;
+        open = null;
+        openKind = null;
+    }
+
+    private static List<Stats> snapshot() {
+        List<Stats> copy;
+        synchronized (ALL) {
+            copy = new ArrayList<>(ALL);
+        }
+        copy.sort(Comparator.comparing(s -> s.name));
+        return copy;
+    }
+
+    private static double live(Stats s) {
+        return perFrame(Math.max(s.updates, s.draws));
+    }
+
+    private static double perFrame(long total) {
+        return frames == 0 ? 0 : (double) total / frames;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (!ENABLED) return null;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            return sun;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+
+import java.util.List;
+
+/**
+ * Résultat de la phase de génération d'une aire : labyrinthe et positions
+ * des rochers, des monstres et de la clé de sortie.
+ * <p>
+ * Un plan ne contient que des données : il peut être calculé sur n'importe
+ * quel thread, puis enregistré à peu de frais par l'aire sur le thread du jeu.
+ */
+public final class AreaPlan {
+
+    private final BitMaze maze;
+    private final List<DiscreteCoordinates> rocks;
+    private final List<DiscreteCoordinates> monsters;
+    private final DiscreteCoordinates exitKey;
+    private final long generationNanos;
+
+    /**
+     * @param exitKey position de la clé de sortie, ou null si l'aire n'en a pas
+     */
+    public AreaPlan(BitMaze maze,
+                    List<DiscreteCoordinates> rocks,
+                    List<DiscreteCoordinates> monsters,
+                    DiscreteCoordinates exitKey,
+                    long generationNanos) {
+        this.maze = maze;
+        this.rocks = List.copyOf(rocks);
+        this.monsters = List.copyOf(monsters);
+        this.exitKey = exitKey;
+        this.generationNanos = generationNanos;
+    }
+
+    public BitMaze getMaze() {
+        return maze;
+    }
+
+    public List<DiscreteCoordinates> getRocks() {
+        return rocks;
+    }
+
+    public List<DiscreteCoordinates> getMonsters() {
+        return monsters;
+    }
+
+    /**
+     * @return la position de la clé de sortie, ou null
+     */
+    public DiscreteCoordinates getExitKey() {
+        return exitKey;
+    }
+
+    /**
+     * @return le temps passé à calculer ce plan, en nanosecondes
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+}
@@ -0,0 +1,185 @@
+package ch.epfl.cs107.icmaze;
+
+import java.util.Arrays;
+
+/**
+ * Compact maze grid storing one bit per cell (1 = wall, 0 = path).
+ *
+ * Rows are packed into a single long[] with a fixed stride of
+ * ceil(width / 64) words per row, so a maze costs about width * height / 8
+ * bytes and no per-row array, which makes 1024x1024 and larger mazes cheap.
+ */
+public final class BitMaze {
+
+    /**
+     * Receives the coordinates of a cell during neighbour iteration.
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(int x, int y);
+    }
+
+    /** Neighbour offsets, in the order UP, RIGHT, DOWN, LEFT */
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {1, 0, -1, 0};
+
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final long[] bits;
+
+    /**
+     * Creates a maze where every cell is a path.
+     */
+    public BitMaze(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width/height must be > 0");
+        }
+        this.width = width;
+        this.height = height;
+        this.stride = (width + 63) >>> 6;
+        this.bits = new long[Math.multiplyExact(stride, height)];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Out-of-bounds cells are reported as walls.
+     */
+    public boolean isWall(int x, int y) {
+        if (!contains(x, y)) return true;
+        return (bits[word(x, y)] & (1L << x)) != 0;
+    }
+
+    public boolean isPath(int x, int y) {
+        return !isWall(x, y);
+    }
+
+    public void setWall(int x, int y) {
+        bits[word(x, y)] |= 1L << x;
+    }
+
+    public void setPath(int x, int y) {
+        bits[word(x, y)] &= ~(1L << x);
+    }
+
+    /**
+     * Turns the horizontal run [fromX, toX) of row y into walls, a word at a time.
+     */
+    public void setWallRow(int y, int fromX, int toX) {
+        int x = fromX;
+        while (x < toX) {
+            int bit = x & 63;
+            int count = Math.min(64 - bit, toX - x);
+            long mask = count == 64 ? -1L : ((1L << count) - 1) << bit;
+            bits[word(x, y)] |= mask;
+            x += count;
+        }
+    }
+
+    /**
+     * Turns the vertical run [fromY, toY) of column x into walls.
+     */
+    public void setWallColumn(int x, int fromY, int toY) {
+        for (int y = fromY; y < toY; ++y) {
+            setWall(x, y);
+        }
+    }
+
+    /**
+     * Overwrites row y with a row produced by {@link StreamingMazeGenerator}
+     * of the same width.
+     */
+    public void setRow(int y, StreamingMazeGenerator.MazeRow row) {
+        if (row.width() != width) {
+            throw new IllegalArgumentException("row width " + row.width() + " != " + width);
+        }
+        System.arraycopy(row.words(), 0, bits, y * stride, stride);
+    }
+
+    /**
+     * Makes every cell a wall.
+     */
+    public void fillWalls() {
+        Arrays.fill(bits, -1L);
+    }
+
+    /**
+     * @return the number of wall cells in the maze
+     */
+    public long wallCount() {
+        long count = 0;
+        int tail = width & 63;
+        long lastMask = tail == 0 ? -1L : (1L << tail) - 1;
+        for (int y = 0; y < height; ++y) {
+            int rowStart = y * stride;
+            for (int w = 0; w < stride; ++w) {
+                long word = bits[rowStart + w];
+                if (w == stride - 1) word &= lastMask;
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return a 4-bit mask of the path neighbours of (x, y): bit 0 = UP,
+     * bit 1 = RIGHT, bit 2 = DOWN, bit 3 = LEFT
+     */
+    public int pathNeighbourMask(int x, int y) {
+        int mask = 0;
+        for (int i = 0; i < 4; ++i) {
+            if (isPath(x + DX[i], y + DY[i])) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Calls the consumer for each in-bounds path neighbour of (x, y), without allocating.
+     */
+    public void forEachPathNeighbour(int x, int y, CellConsumer consumer) {
+        for (int i = 0; i < 4; ++i) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (contains(nx, ny) && isPath(nx, ny)) consumer.accept(nx, ny);
+        }
+    }
+
+    /**
+     * Calls the consumer for each in-bounds wall neighbour of (x, y), without allocating.
+     */
+    public void forEachWallNeighbour(int x, int y, CellConsumer consumer) {
+        for (int i = 0; i < 4; ++i) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (contains(nx, ny) && isWall(nx, ny)) consumer.accept(nx, ny);
+        }
+    }
+
+    /**
+     * Expands the maze into the legacy int[height][width] form (0 = path, 1 = wall).
+     */
+    public int[][] toArray() {
+        int[][] grid = new int[height][width];
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                grid[y][x] = isWall(x, y) ? 1 : 0;
+            }
+        }
+        return grid;
+    }
+
+    private int word(int x, int y) {
+        return y * stride + (x >>> 6);
+    }
+}
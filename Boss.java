@@ -1,9 +1,11 @@
 package ch.epfl.cs107.icmaze.actor;
 
-import ch.epfl.cs107.icmaze.RandomGenerator;
 import ch.epfl.cs107.icmaze.actor.collectable.Key;
 import ch.epfl.cs107.icmaze.actor.util.Cooldown;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.engine.actor.OrientedAnimation;
@@ -15,6 +17,7 @@ import ch.epfl.cs107.play.window.Canvas;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class Boss extends Ennemy {
     private static final int MAX_HP = 5;
@@ -31,15 +34,20 @@ public class Boss extends Ennemy {
     private boolean alreadyAttacked = false; // ✅ mémorise si déjà attaqué au moins une fois
     private final List<DiscreteCoordinates> teleportPositions;
 
+    // Flux aléatoire propre au boss, dérivé de la graine de l'aire
+    private final Random random;
+
     public Boss(Area area, DiscreteCoordinates position) {
         super(area, Orientation.DOWN, position, MAX_HP, HIT_COOLDOWN);
+        this.random = (area instanceof ICMazeArea mazeArea) ? mazeArea.randomStream("Boss") : new Random();
+        if (area instanceof ICMazeArea mazeArea) barrageCooldown.bind(mazeArea.getTimers());
 
         Vector anchor = new Vector(-0.5f, 0);
         Orientation[] orders = {Orientation.DOWN, Orientation.RIGHT, Orientation.UP, Orientation.LEFT};
         animation = new OrientedAnimation(
                 "icmaze/boss",
                 ANIMATION_DURATION / 4,
-                this,
+                renderAnchor(),
                 anchor,
                 orders,
                 3, 2, 2, 32, 32,
@@ -114,7 +122,7 @@ public class Boss extends Ennemy {
 
         if (!availablePositions.isEmpty()) {
             DiscreteCoordinates newPos = availablePositions.get(
-                    RandomGenerator.rng.nextInt(availablePositions.size())
+                    random.nextInt(availablePositions.size())
             );
 
             int dx = newPos.x - current.x;
@@ -127,6 +135,7 @@ public class Boss extends Ennemy {
             }
 
             setCurrentPosition(newPos.toVector());
+            snapRender();
             resetMotion();
         }
     }
@@ -177,20 +186,25 @@ public class Boss extends Ennemy {
         }
 
         if (!spawnPositions.isEmpty()) {
-            int skipIndex = RandomGenerator.rng.nextInt(spawnPositions.size());
+            int skipIndex = random.nextInt(spawnPositions.size());
 
             for (int i = 0; i < spawnPositions.size(); i++) {
                 if (i == skipIndex) continue;
 
                 DiscreteCoordinates spawnPos = spawnPositions.get(i);
-                WaterProjectile projectile = new WaterProjectile(getOwnerArea(), currentOrientation, spawnPos);
-                getOwnerArea().registerActor(projectile);
+                if (getOwnerArea() instanceof ICMazeArea mazeArea) {
+                    mazeArea.getWaterProjectilePool().obtain(currentOrientation, spawnPos);
+                } else {
+                    getOwnerArea().registerActor(new WaterProjectile(getOwnerArea(), currentOrientation, spawnPos));
+                }
             }
         }
     }
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         if (isDead()) {
             super.draw(canvas);
             return;
@@ -208,9 +222,7 @@ public class Boss extends Ennemy {
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        if (v instanceof ICMazeInteractionVisitor visitor) {
-            visitor.interactWith(this, isCellInteraction);
-        }
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 
     @Override
@@ -0,0 +1,24 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.play.math.Positionable;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
+
+/**
+ * Parent d'une image partagée par les cellules d'une couche, placé sur la
+ * cellule en cours de dessin.
+ */
+final class CellCursor implements Positionable {
+
+    Transform transform = Transform.I;
+
+    @Override
+    public Transform getTransform() {
+        return transform;
+    }
+
+    @Override
+    public Vector getVelocity() {
+        return Vector.ZERO;
+    }
+}
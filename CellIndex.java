@@ -0,0 +1,101 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Arrays;
+
+/**
+ * Index des cellules occupées d'une aire, tenu à jour par ICMazeBehavior à
+ * chaque entrée et sortie réelle d'une entité (enregistrement, déplacement, retrait).
+ * <p>
+ * Les cellules sont désignées par leur identifiant x + y * largeur. Les cellules
+ * occupées sont rangées par région de REGION x REGION cellules : une requête
+ * sur un rectangle ne visite que les régions qu'il recouvre et, dans chacune,
+ * seulement les cellules occupées.
+ */
+final class CellIndex {
+
+    private static final int REGION_SHIFT = 3;
+    private static final int REGION = 1 << REGION_SHIFT;
+    private static final int REGION_AREA = REGION * REGION;
+
+    private final int width;
+    private final int height;
+    private final int regionsX;
+
+    // Nombre d'entités par cellule, et place de la cellule dans la liste de sa région (-1 si absente)
+    private final int[] counts;
+    private final int[] slots;
+
+    // Cellules occupées de chaque région, la région r occupant [r * REGION_AREA, r * REGION_AREA + sizes[r])
+    private final int[] occupied;
+    private final int[] sizes;
+
+    CellIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.regionsX = (width + REGION - 1) >> REGION_SHIFT;
+        int regionsY = (height + REGION - 1) >> REGION_SHIFT;
+
+        this.counts = new int[width * height];
+        this.slots = new int[width * height];
+        this.occupied = new int[regionsX * regionsY * REGION_AREA];
+        this.sizes = new int[regionsX * regionsY];
+        Arrays.fill(slots, -1);
+    }
+
+    void enter(int id) {
+        if (counts[id]++ > 0) return;
+
+        int region = regionOf(id);
+        slots[id] = sizes[region];
+        occupied[region * REGION_AREA + sizes[region]++] = id;
+    }
+
+    void leave(int id) {
+        if (counts[id] == 0 || --counts[id] > 0) return;
+
+        // La dernière cellule de la région prend la place de celle qui se vide
+        int region = regionOf(id);
+        int last = occupied[region * REGION_AREA + --sizes[region]];
+        occupied[region * REGION_AREA + slots[id]] = last;
+        slots[last] = slots[id];
+        slots[id] = -1;
+    }
+
+    /**
+     * @return le nombre d'entités dans la cellule
+     */
+    int count(int id) {
+        return counts[id];
+    }
+
+    /**
+     * Parcourt les cellules occupées du rectangle [minX, maxX] x [minY, maxY].
+     * Coût : les régions recouvertes, plus les cellules occupées de ces régions.
+     */
+    void forEach(int minX, int minY, int maxX, int maxY, BitMaze.CellConsumer consumer) {
+        minX = Math.max(0, minX);
+        minY = Math.max(0, minY);
+        maxX = Math.min(width - 1, maxX);
+        maxY = Math.min(height - 1, maxY);
+        if (minX > maxX || minY > maxY) return;
+
+        for (int ry = minY >> REGION_SHIFT; ry <= maxY >> REGION_SHIFT; ++ry) {
+            for (int rx = minX >> REGION_SHIFT; rx <= maxX >> REGION_SHIFT; ++rx) {
+                int region = rx + ry * regionsX;
+                int base = region * REGION_AREA;
+                for (int i = 0; i < sizes[region]; ++i) {
+                    int id = occupied[base + i];
+                    int x = id % width;
+                    int y = id / width;
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) consumer.accept(x, y);
+                }
+            }
+        }
+    }
+
+    private int regionOf(int id) {
+        return ((id % width) >> REGION_SHIFT) + ((id / width) >> REGION_SHIFT) * regionsX;
+    }
+}
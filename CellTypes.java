@@ -0,0 +1,139 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.icmaze.area.ICMazeBehavior.MazeCellType;
+import ch.epfl.cs107.play.window.Image;
+import ch.epfl.cs107.play.window.Window;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Terrain d'un comportement : le type de chaque cellule, dans un tableau plat
+ * (index x + y * largeur).
+ * <p>
+ * Le terrain vient soit d'une image de comportement, dont les types sont décodés
+ * une seule fois par nom de grille puis partagés entre les aires et les
+ * réinitialisations, soit directement de la taille du labyrinthe.
+ */
+final class CellTypes implements Image {
+
+    // Types décodés de chaque image de comportement, par nom de grille
+    private static final Map<String, CellTypes> DECODED = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final MazeCellType[] types;
+
+    // Vrai si le terrain vient d'une image de comportement, faux s'il est construit
+    private final boolean decoded;
+
+    private CellTypes(int width, int height, boolean decoded) {
+        this.width = width;
+        this.height = height;
+        this.types = new MazeCellType[width * height];
+        this.decoded = decoded;
+    }
+
+    /**
+     * @return le terrain décodé de l'image gridName, ou null s'il ne l'a pas encore été
+     */
+    static CellTypes cached(String gridName) {
+        return DECODED.get(gridName);
+    }
+
+    /**
+     * Oublie les images décodées : la prochaine construction relit et décode l'image.
+     */
+    static void clear() {
+        DECODED.clear();
+    }
+
+    /**
+     * Décode l'image de comportement gridName, déjà chargée par le moteur, et la
+     * garde pour les appels suivants.
+     *
+     * @param rgb couleur d'un pixel, (ligne depuis le haut, colonne) -> rgb
+     */
+    static CellTypes decode(String gridName, int width, int height, IntBinaryOperator rgb) {
+        return DECODED.computeIfAbsent(gridName, name -> {
+            CellTypes terrain = new CellTypes(width, height, true);
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    terrain.types[x + y * width] = MazeCellType.toType(rgb.applyAsInt(height - 1 - y, x));
+                }
+            }
+            return terrain;
+        });
+    }
+
+    /**
+     * Terrain d'un labyrinthe de côté size : sol partout, entouré d'un cadre de murs.
+     * Comme dans les images de comportement, les cellules des portails (milieu de
+     * chaque côté du cadre, voir ICMazeArea) sont du sol, pour que les portails
+     * puissent y être enregistrés et franchis. Les murs du labyrinthe sont des
+     * rochers posés sur le sol par l'aire, ils ne font pas partie du terrain.
+     */
+    static CellTypes framed(int size) {
+        int side = size + 2;
+        int half = size / 2;
+        CellTypes terrain = new CellTypes(side, side, false);
+        for (int y = 0; y < side; ++y) {
+            for (int x = 0; x < side; ++x) {
+                boolean border = x == 0 || y == 0 || x == side - 1 || y == side - 1;
+                terrain.types[x + y * side] = border ? MazeCellType.WALL : MazeCellType.GROUND;
+            }
+        }
+        terrain.types[half] = MazeCellType.GROUND;
+        terrain.types[half + (side - 1) * side] = MazeCellType.GROUND;
+        terrain.types[half * side] = MazeCellType.GROUND;
+        terrain.types[side - 1 + half * side] = MazeCellType.GROUND;
+        return terrain;
+    }
+
+    /**
+     * @return vrai si le terrain vient d'une image de comportement
+     */
+    boolean isDecoded() {
+        return decoded;
+    }
+
+    MazeCellType type(int x, int y) {
+        return types[x + y * width];
+    }
+
+    /**
+     * @return une vue de la fenêtre dont getImage rend ce terrain, pour un terrain
+     * construit : AreaBehavior ne dimensionne sa grille que d'après l'image qu'il
+     * charge, et aucune image n'existe à la taille du labyrinthe. Seul appel
+     * intercepté ; tous les autres vont directement à la fenêtre.
+     */
+    Window serve(Window window) {
+        return (Window) Proxy.newProxyInstance(Window.class.getClassLoader(), new Class<?>[]{Window.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getImage")) return this;
+                    try {
+                        return method.invoke(window, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getRGB(int r, int c) {
+        return types[c + (height - 1 - r) * width].getRGB();
+    }
+}
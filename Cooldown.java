@@ -1,16 +1,56 @@
 package ch.epfl.cs107.icmaze.actor.util;
 
+import ch.epfl.cs107.icmaze.FixedStepClock;
+
 /**
  * Cooldown timer utility expected by ICMazeActor.
+ *
+ * A free cooldown is polled: it accumulates the frame times given to
+ * update()/ready(). A cooldown bound to a {@link TimerWheel} counts whole
+ * simulation ticks instead: the wheel tracks the delay, polling only reads a
+ * flag, and an optional callback runs the tick the cooldown becomes ready.
  */
 public final class Cooldown {
 
     private final float delay;
     private float elapsed;
 
+    // Delay in simulation ticks, and the wheel timer once bound (null while free)
+    private final long ticks;
+    private TimerWheel.Timer timer;
+    private Runnable onReady;
+
     public Cooldown(float delaySeconds) {
         this.delay = Math.max(0f, delaySeconds);
         this.elapsed = delay; // ready immediately
+        this.ticks = Math.round(delay / FixedStepClock.STEP);
+    }
+
+    /**
+     * Moves the cooldown to the given wheel (an actor changing area), keeping the time left.
+     */
+    public void bind(TimerWheel wheel) {
+        long remaining;
+        if (timer != null) {
+            remaining = timer.remaining();
+            timer.cancel();
+        } else {
+            remaining = isReady() ? 0 : Math.round((delay - elapsed) / FixedStepClock.STEP);
+        }
+
+        timer = wheel.timer(this::fire);
+        if (remaining > 0) timer.schedule(remaining);
+    }
+
+    /**
+     * @param callback run when the cooldown becomes ready, on a bound cooldown only
+     */
+    public void onReady(Runnable callback) {
+        this.onReady = callback;
+    }
+
+    private void fire() {
+        if (onReady != null) onReady.run();
     }
 
     /** Updates the timer and returns true if ready (matches code like: cd.ready(dt)) */
@@ -19,23 +59,29 @@ public final class Cooldown {
         return isReady();
     }
 
-    /** Update timer */
+    /** Update timer (nothing to do once bound: the wheel counts the ticks) */
     public void update(float dt) {
+        if (timer != null) return;
         elapsed += Math.max(0f, dt);
     }
 
     /** True when cooldown finished */
     public boolean isReady() {
-        return elapsed >= delay;
+        return timer != null ? !timer.isPending() : elapsed >= delay;
     }
 
     /** Restart cooldown */
     public void reset() {
-        elapsed = 0f;
+        if (timer == null) {
+            elapsed = 0f;
+        } else if (ticks > 0) {
+            timer.schedule(ticks);
+        }
     }
 
     /** Force ready now */
     public void setReady() {
+        if (timer != null) timer.cancel();
         elapsed = delay;
     }
 }
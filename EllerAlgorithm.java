@@ -0,0 +1,30 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.StreamingMazeGenerator;
+
+import java.util.Random;
+
+/**
+ * Eller's algorithm: builds the maze one lattice row at a time, keeping only
+ * the set membership of the current row (O(width) state).
+ * The rows come from {@link StreamingMazeGenerator} and are copied into a BitMaze.
+ */
+public final class EllerAlgorithm extends AbstractMazeAlgorithm {
+
+    @Override
+    public String getName() {
+        return "eller";
+    }
+
+    @Override
+    protected BitMaze carve(int width, int height, int difficulty, Random rng) {
+        BitMaze maze = solid(width, height);
+        int rows = latticeHeight(height);
+        if (width < 3 || rows == 0) return maze;
+
+        // Rows beyond 2 * rows + 1 (even height) stay walls
+        new StreamingMazeGenerator(width, rng).generate(rows, maze::setRow);
+        return maze;
+    }
+}
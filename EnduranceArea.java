@@ -0,0 +1,93 @@
+package ch.epfl.cs107.icmaze.area.maps;
+
+import ch.epfl.cs107.icmaze.RandomGenerator;
+import ch.epfl.cs107.icmaze.StreamingMazeGenerator;
+import ch.epfl.cs107.icmaze.actor.LogMonster;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+import java.util.Random;
+
+/**
+ * Aire d'endurance pour les tests longue durée : un labyrinthe bien plus grand
+ * que Size.LARGE, généré ligne par ligne sans jamais construire la grille complète.
+ * Les rochers et les points d'apparition des monstres sont placés au fil des lignes.
+ */
+public class EnduranceArea extends ICMazeArea {
+
+    public static final int DEFAULT_SIZE = 128;
+
+    // Un monstre au plus toutes les SPAWN_INTERVAL lignes
+    private static final int SPAWN_INTERVAL = 16;
+
+    private final long seed;
+
+    public EnduranceArea() {
+        this(DEFAULT_SIZE, RandomGenerator.fromClock().getSeed());
+    }
+
+    /**
+     * @param size (int): côté du labyrinthe, >= 3
+     * @param seed (long): graine, la même graine redonne le même labyrinthe
+     */
+    public EnduranceArea(int size, long seed) {
+        super("SmallArea", size);
+        this.seed = seed;
+    }
+
+    @Override
+    protected void createArea() {
+        int size = getSize();
+        DiscreteCoordinates entry = getArrivalCoordinates(ICMazeArea.AreaPortals.W);
+        DiscreteCoordinates exit = getArrivalCoordinates(ICMazeArea.AreaPortals.E);
+
+        RandomGenerator streams = new RandomGenerator(seed);
+        Random spawnRng = streams.split("monsters").random();
+        StreamingMazeGenerator generator = new StreamingMazeGenerator(size, streams.split("maze").random());
+
+        int[] spawned = {0};
+        generator.generate((size - 1) / 2, (y, row) -> {
+            if (y < 1 || y > size - 2) return;
+
+            int pathCount = 0;
+            for (int x = 1; x < size - 1; ++x) {
+                if (row.isPath(x)) {
+                    pathCount++;
+                    continue;
+                }
+                DiscreteCoordinates p = new DiscreteCoordinates(x, y);
+                if (p.equals(entry) || p.equals(exit)) continue;
+                if (isAdjacentTo(p, entry) || isAdjacentTo(p, exit)) continue;
+
+                placeRock(p);
+            }
+
+            // Point d'apparition : une cellule de chemin tirée au hasard dans la ligne
+            if (y % SPAWN_INTERVAL != 0 || pathCount == 0) return;
+            int pick = spawnRng.nextInt(pathCount);
+            for (int x = 1; x < size - 1; ++x) {
+                if (row.isWall(x) || pick-- > 0) continue;
+
+                DiscreteCoordinates p = new DiscreteCoordinates(x, y);
+                if (p.equals(entry) || isAdjacentTo(p, entry)) return;
+                try {
+                    registerActor(new LogMonster(this, Orientation.DOWN, p, LogMonster.State.RANDOM));
+                    spawned[0]++;
+                } catch (Exception e) {
+                    // Si placement échoue, on passe à la ligne suivante
+                }
+                return;
+            }
+        });
+
+        System.out.println("EnduranceArea: " + size + "x" + size + ", spawned " + spawned[0] + " monsters");
+    }
+
+    /**
+     * Vérifie si deux positions sont adjacentes (distance Manhattan = 1)
+     */
+    private boolean isAdjacentTo(DiscreteCoordinates pos, DiscreteCoordinates target) {
+        return Math.abs(pos.x - target.x) + Math.abs(pos.y - target.y) == 1;
+    }
+}
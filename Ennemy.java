@@ -1,14 +1,17 @@
 package ch.epfl.cs107.icmaze.actor;
 
+import ch.epfl.cs107.icmaze.actor.util.FramePlayer;
+import ch.epfl.cs107.icmaze.actor.util.SpriteSheets;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.icmaze.profiling.TickProfiler;
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.actor.Interactor;
 import ch.epfl.cs107.play.areagame.area.Area;
-import ch.epfl.cs107.play.engine.actor.Animation;
-import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
-import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.window.Canvas;
 
 import java.util.Collections;
@@ -24,7 +27,7 @@ public abstract class Ennemy extends ICMazeActor implements Interactor {
     private static final int VANISH_FRAMES = 7;
     private static final int VANISH_DURATION = 24;
 
-    private Animation dyingAnimation;
+    private FramePlayer dyingAnimation;
     private boolean dying = false;
 
     protected Ennemy(Area area,
@@ -80,7 +83,9 @@ public abstract class Ennemy extends ICMazeActor implements Interactor {
 
     @Override
     public void interactWith(Interactable other, boolean isCellInteraction) {
-        other.acceptInteraction(getInteractionHandler(), isCellInteraction);
+        ActorMetrics.interaction(this);
+        TickProfiler.mark(TickProfiler.Phase.INTERACTION);
+        InteractionTable.interact(getInteractionHandler(), other, isCellInteraction);
     }
 
     protected abstract ICMazeInteractionVisitor getInteractionHandler();
@@ -91,19 +96,12 @@ public abstract class Ennemy extends ICMazeActor implements Interactor {
 
         if (!dying && isDead()) {
             dying = true;
-
-            Sprite[] frames = Sprite.extractSprites(
-                    "icmaze/vanish",
-                    VANISH_FRAMES,
-                    2, 2,
-                    this,
-                    32, 32
-            );
-            for (Sprite s : frames) {
-                s.setAnchor(new Vector(-0.5f, 0f));
+            if (getOwnerArea() instanceof ICMazeArea area) {
+                area.getBehavior().setBlocking(this, false);
             }
 
-            dyingAnimation = new Animation(VANISH_DURATION / VANISH_FRAMES, frames, false);
+            // Frames partagées entre toutes les instances (voir SpriteSheets)
+            dyingAnimation = new FramePlayer(SpriteSheets.vanish(), VANISH_DURATION / VANISH_FRAMES, false);
         }
     }
 
@@ -121,12 +119,14 @@ public abstract class Ennemy extends ICMazeActor implements Interactor {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         if (!isDead() && !dying) {
             health.draw(canvas);
         }
 
         if (dying && dyingAnimation != null) {
-            dyingAnimation.draw(canvas);
+            dyingAnimation.draw(canvas, renderAnchor());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package ch.epfl.cs107.icmaze;
+
+/**
+ * Fixed-timestep clock driving the game simulation.
+ *
+ * The window hands the game whatever frame time it measured; the clock turns
+ * it into a whole number of simulation steps of {@link #STEP} seconds and keeps
+ * the remainder for the next frame. Movement frame counts (move(8),
+ * DEFAULT_MOVE_FRAMES...) therefore always mean the same duration, whatever
+ * the display rate. A long stall (debugger, slow load) is clamped to
+ * {@link #MAX_FRAME_TIME} and at most {@link #MAX_STEPS} steps are run per
+ * frame, so the game slows down instead of falling into a spiral of ever
+ * longer catch-up frames.
+ */
+public final class FixedStepClock {
+
+    /** Duration of one simulation step: the engine's 24 frames per second, which the frame counts were tuned for */
+    public static final float STEP = 1f / 24f;
+
+    /** Longest frame time taken into account, in seconds */
+    public static final float MAX_FRAME_TIME = 0.25f;
+
+    /** Largest number of steps run for a single frame */
+    public static final int MAX_STEPS = 4;
+
+    /** Tolerance on the accumulated time, so that frames of exactly STEP seconds give exactly one step */
+    private static final double EPSILON = 1e-6;
+
+    private double accumulator;
+
+    /**
+     * Adds the frame time and takes the steps that are due.
+     *
+     * @param deltaTime time elapsed since the previous frame, in seconds
+     * @return the number of simulation steps to run for this frame, between 0 and MAX_STEPS
+     */
+    public int advance(float deltaTime) {
+        accumulator += Math.min(Math.max(deltaTime, 0f), MAX_FRAME_TIME);
+
+        int steps = (int) Math.floor(accumulator / STEP + EPSILON);
+        if (steps > MAX_STEPS) {
+            // Backlog that cannot be caught up: drop it
+            steps = MAX_STEPS;
+            accumulator = steps * (double) STEP;
+        }
+        accumulator = Math.max(0.0, accumulator - steps * (double) STEP);
+        return steps;
+    }
+
+    /**
+     * @return how far the clock is between the last step and the next one, in [0, 1]
+     */
+    public float alpha() {
+        return (float) Math.min(1.0, accumulator / STEP);
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+}
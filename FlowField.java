@@ -0,0 +1,117 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.play.math.Orientation;
+
+import java.util.Arrays;
+
+/**
+ * Carte de distances (parcours en largeur) vers une cible, partagée par
+ * tous les PathFinderEnemy d'une aire.
+ * <p>
+ * Les distances sont stockées dans un tableau plat (index x + y * largeur) :
+ * la carte n'est recalculée que lorsque la cible change de cellule ou qu'un
+ * obstacle disparaît, et chaque lecture est en O(1).
+ */
+public final class FlowField {
+
+    /** Distance d'une cellule que la cible ne peut pas atteindre */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final Orientation[] DIRECTIONS = {
+            Orientation.UP, Orientation.RIGHT, Orientation.DOWN, Orientation.LEFT
+    };
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {1, 0, -1, 0};
+
+    private final ICMazeArea area;
+    private final int width;
+    private final int height;
+    private final int[] distances;
+    private final int[] queue;
+
+    private int targetX = -1;
+    private int targetY = -1;
+    private boolean dirty = true;
+
+    FlowField(ICMazeArea area) {
+        this.area = area;
+        this.width = area.getGridWidth();
+        this.height = area.getGridHeight();
+        this.distances = new int[width * height];
+        this.queue = new int[width * height];
+    }
+
+    /** Force un recalcul à la prochaine lecture (obstacle détruit, ...) */
+    void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Met la carte à jour pour la cible donnée ; sans effet si elle n'a pas bougé.
+     */
+    void retarget(int x, int y) {
+        if (!dirty && x == targetX && y == targetY) return;
+        targetX = x;
+        targetY = y;
+        dirty = false;
+        recompute();
+    }
+
+    /**
+     * @return la distance en cellules jusqu'à la cible, ou UNREACHABLE
+     */
+    public int distance(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return UNREACHABLE;
+        return distances[x + y * width];
+    }
+
+    /**
+     * @return l'orientation qui rapproche le plus de la cible depuis (x, y),
+     * ou null si la cible est inaccessible ou déjà atteinte
+     */
+    public Orientation nextStep(int x, int y) {
+        int best = distance(x, y);
+        Orientation bestOrientation = null;
+
+        for (int i = 0; i < DIRECTIONS.length; ++i) {
+            int d = distance(x + DX[i], y + DY[i]);
+            if (d < best) {
+                best = d;
+                bestOrientation = DIRECTIONS[i];
+            }
+        }
+        return bestOrientation;
+    }
+
+    private void recompute() {
+        Arrays.fill(distances, UNREACHABLE);
+        if (targetX < 0 || targetY < 0 || targetX >= width || targetY >= height) return;
+
+        int head = 0;
+        int tail = 0;
+        int start = targetX + targetY * width;
+        distances[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int cx = current % width;
+            int cy = current / width;
+            int next = distances[current] + 1;
+
+            tail = visit(cx + 1, cy, next, tail);
+            tail = visit(cx - 1, cy, next, tail);
+            tail = visit(cx, cy + 1, next, tail);
+            tail = visit(cx, cy - 1, next, tail);
+        }
+    }
+
+    private int visit(int x, int y, int distance, int tail) {
+        if (!area.isWalkable(x, y)) return tail;
+        int index = x + y * width;
+        if (distances[index] != UNREACHABLE) return tail;
+        distances[index] = distance;
+        queue[tail] = index;
+        return tail + 1;
+    }
+}
@@ -0,0 +1,99 @@
+package ch.epfl.cs107.icmaze.actor.util;
+
+import ch.epfl.cs107.play.engine.actor.Sprite;
+import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.Positionable;
+import ch.epfl.cs107.play.window.Canvas;
+
+/**
+ * Per-instance playback of shared frames (see {@link SpriteSheets}):
+ * only the frame index and the tick counter belong to the instance.
+ * Like the engine Animation, it advances one tick per update.
+ * An oriented sheet shares one playback across its orientations.
+ */
+public final class FramePlayer {
+
+    // Frames per orientation ordinal; a plain strip is a single row
+    private final Sprite[][] sheet;
+    private final int frameCount;
+    private final int frameDuration;
+    private final boolean repeat;
+
+    private int frame;
+    private int ticks;
+    private boolean completed;
+
+    /**
+     * @param frameDuration number of updates each frame stays on screen
+     */
+    public FramePlayer(Sprite[] frames, int frameDuration, boolean repeat) {
+        this(new Sprite[][]{frames}, frames.length, frameDuration, repeat);
+    }
+
+    /**
+     * @param sheet frames indexed by orientation ordinal, as given by {@link SpriteSheets#oriented}
+     */
+    public FramePlayer(Sprite[][] sheet, int frameDuration, boolean repeat) {
+        this(sheet, orientedFrameCount(sheet), frameDuration, repeat);
+    }
+
+    private FramePlayer(Sprite[][] sheet, int frameCount, int frameDuration, boolean repeat) {
+        this.sheet = sheet;
+        this.frameCount = frameCount;
+        this.frameDuration = Math.max(1, frameDuration);
+        this.repeat = repeat;
+    }
+
+    public void update(float deltaTime) {
+        if (completed) return;
+        if (++ticks < frameDuration) return;
+
+        ticks = 0;
+        if (frame + 1 < frameCount) {
+            frame++;
+        } else if (repeat) {
+            frame = 0;
+        } else {
+            completed = true;
+        }
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void reset() {
+        frame = 0;
+        ticks = 0;
+        completed = false;
+    }
+
+    /**
+     * Draws the current frame on top of the given owner.
+     */
+    public void draw(Canvas canvas, Positionable owner) {
+        draw(canvas, owner, sheet[0]);
+    }
+
+    /**
+     * Draws the current frame of the given orientation on top of the given owner.
+     */
+    public void draw(Canvas canvas, Positionable owner, Orientation orientation) {
+        draw(canvas, owner, sheet[orientation.ordinal()]);
+    }
+
+    private void draw(Canvas canvas, Positionable owner, Sprite[] frames) {
+        if (frames == null || frame >= frames.length) return;
+        Sprite sprite = frames[frame];
+        sprite.setParent(owner);
+        sprite.draw(canvas);
+    }
+
+    private static int orientedFrameCount(Sprite[][] sheet) {
+        int count = 0;
+        for (Sprite[] frames : sheet) {
+            if (frames != null) count = Math.max(count, frames.length);
+        }
+        return count;
+    }
+}
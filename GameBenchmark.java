@@ -0,0 +1,242 @@
+package ch.epfl.cs107.icmaze.bench;
+
+import ch.epfl.cs107.icmaze.Difficulty;
+import ch.epfl.cs107.icmaze.LevelGenerator;
+import ch.epfl.cs107.icmaze.MazeGenerator;
+import ch.epfl.cs107.icmaze.RandomGenerator;
+import ch.epfl.cs107.icmaze.Size;
+import ch.epfl.cs107.icmaze.actor.LogMonster;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.area.ICMazeBehavior;
+import ch.epfl.cs107.icmaze.area.maps.LargeArea;
+import ch.epfl.cs107.icmaze.headless.HeadlessWindow;
+import ch.epfl.cs107.icmaze.headless.ScriptedKeyboard;
+import ch.epfl.cs107.play.io.DefaultFileSystem;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourceFileSystem;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.window.Window;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Regression numbers for the hot paths of the game, measured headless.
+ *
+ * Covers maze generation at each Size, level generation with every area
+ * planned for several lengths,
+ * ICMazeBehavior construction (cold image decode, cached image, generated
+ * terrain), LogMonster path queries (shared flow field and
+ * area graph) and a full area update tick with N monsters, M rocks and K
+ * projectiles. Each case is warmed up, then run for a fixed time budget; the
+ * report gives the mean time per operation and the throughput.
+ *
+ * Usage: java ch.epfl.cs107.icmaze.bench.GameBenchmark [seed]
+ */
+public final class GameBenchmark {
+
+    private static final int[] MAZE_SIZES = {Size.SMALL, Size.MEDIUM, Size.LARGE};
+    private static final int[] LEVEL_LENGTHS = {5, 20, 100};
+    private static final int[][] TICK_LOADS = {
+            // monsters, rocks, projectiles
+            {0, 0, 0},
+            {3, 20, 4},
+            {10, 40, 10},
+    };
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+    private static final float STEP = 1f / 24f;
+
+    /** Projectiles fly MAX_DISTANCE cells of MOVE_DURATION frames each; a new wave is fired after that */
+    private static final int PROJECTILE_WAVE_TICKS = 48;
+
+    /** Consumes results so that the JIT cannot drop the measured code */
+    private static long sink;
+
+    /** The game logs to System.out; the report goes to the original stream, the logs are muted */
+    private static final PrintStream REPORT = System.out;
+
+    private static final FileSystem FILE_SYSTEM = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+    private static final Window WINDOW = HeadlessWindow.create(FILE_SYSTEM, new ScriptedKeyboard());
+
+    private GameBenchmark() {}
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        RandomGenerator random = new RandomGenerator(seed);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        REPORT.printf("%-28s %12s %14s %14s%n", "benchmark", "param", "us/op", "ops/s");
+
+        for (int size : MAZE_SIZES) {
+            Random rng = random.split("maze").split(size).random();
+            measure("MazeGenerator.createMaze", size + "x" + size,
+                    () -> MazeGenerator.createMaze(size, size, Difficulty.HARDEST, rng).length);
+        }
+
+        for (int length : LEVEL_LENGTHS) {
+            RandomGenerator levels = random.split("level").split(length);
+            long[] index = {0};
+            measure("LevelGenerator line+plans", "length " + length, () -> {
+                // generateLine only plans the first PREPARED_AREAS areas; plan the rest too
+                ICMazeArea[] line = LevelGenerator.generateLine(length, levels.split(index[0]++));
+                LevelGenerator.prepareAll(line);
+                return line.length;
+            });
+        }
+
+        // Cold: decodes the image, through a fresh window so that its own image cache misses too
+        measure("ICMazeBehavior.<init>", "SmallArea cold", () -> {
+            ICMazeBehavior.clearImageCache();
+            return new ICMazeBehavior(HeadlessWindow.create(FILE_SYSTEM, new ScriptedKeyboard()), "SmallArea").getWidth();
+        });
+        measure("ICMazeBehavior.<init>", "SmallArea cached",
+                () -> new ICMazeBehavior(WINDOW, "SmallArea").getWidth());
+        measure("ICMazeBehavior.<init>", "framed 32",
+                () -> new ICMazeBehavior(WINDOW, 32).getWidth());
+
+        pathQueries(random.split("paths"));
+
+        for (int[] load : TICK_LOADS) {
+            tick(random.split("tick"), load[0], load[1], load[2]);
+        }
+
+        REPORT.println("(sink " + sink + ")");
+        System.setOut(REPORT);
+    }
+
+    /**
+     * Flow field reads towards a moving target, and graph shortest paths, in a started LargeArea.
+     */
+    private static void pathQueries(RandomGenerator random) {
+        LargeArea area = new LargeArea();
+        area.setRandomGenerator(random);
+        area.begin(WINDOW, FILE_SYSTEM);
+
+        List<DiscreteCoordinates> walkable = walkableCells(area);
+        if (walkable.size() < 2) {
+            REPORT.println("(path queries skipped: no walkable cells)");
+            return;
+        }
+        Random rng = random.split("cells").random();
+
+        measure("LogMonster flow field", "new target", () -> {
+            DiscreteCoordinates from = walkable.get(rng.nextInt(walkable.size()));
+            DiscreteCoordinates to = walkable.get(rng.nextInt(walkable.size()));
+            Orientation o = area.nextOrientationTowards(from, to);
+            return o == null ? 0 : o.ordinal();
+        });
+
+        DiscreteCoordinates target = walkable.get(walkable.size() / 2);
+        measure("LogMonster flow field", "same target", () -> {
+            DiscreteCoordinates from = walkable.get(rng.nextInt(walkable.size()));
+            Orientation o = area.nextOrientationTowards(from, target);
+            return o == null ? 0 : o.ordinal();
+        });
+
+        measure("ICMazeArea.shortestPath", "random pair", () -> {
+            DiscreteCoordinates from = walkable.get(rng.nextInt(walkable.size()));
+            DiscreteCoordinates to = walkable.get(rng.nextInt(walkable.size()));
+            var path = area.shortestPath(from, to);
+            return path == null ? 0 : path.size();
+        });
+    }
+
+    /**
+     * One full area update (actors, interactions, drawing on the no-op canvas).
+     */
+    private static void tick(RandomGenerator random, int monsters, int rocks, int projectiles) {
+        TickArea area = new TickArea(monsters, rocks);
+        area.setRandomGenerator(random);
+        area.begin(WINDOW, FILE_SYSTEM);
+
+        List<DiscreteCoordinates> walkable = walkableCells(area);
+        Random rng = random.split("projectiles").random();
+        Orientation[] orientations = Orientation.values();
+        long[] ticks = {0};
+
+        measure("ICMazeArea.update", monsters + "m " + rocks + "r " + projectiles + "p", () -> {
+            if (ticks[0]++ % PROJECTILE_WAVE_TICKS == 0 && !walkable.isEmpty()) {
+                for (int i = 0; i < projectiles; ++i) {
+                    DiscreteCoordinates p = walkable.get(rng.nextInt(walkable.size()));
+                    area.getWaterProjectilePool().obtain(orientations[rng.nextInt(orientations.length)], p);
+                }
+            }
+            area.update(STEP);
+            area.drawFrame(WINDOW, 1f);
+            return ticks[0];
+        });
+        if (projectiles > 0) REPORT.println("  " + area.getWaterProjectilePool());
+    }
+
+    private static List<DiscreteCoordinates> walkableCells(ICMazeArea area) {
+        List<DiscreteCoordinates> cells = new ArrayList<>();
+        for (int y = 0; y < area.getGridHeight(); ++y) {
+            for (int x = 0; x < area.getGridWidth(); ++x) {
+                if (area.isWalkable(x, y)) cells.add(area.cellAt(x, y));
+            }
+        }
+        return cells;
+    }
+
+    private static void measure(String name, String param, LongSupplier operation) {
+        // Warmup
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            sink += operation.getAsLong();
+        }
+
+        // Measurement
+        long start = System.nanoTime();
+        long deadline = start + MEASURE_NANOS;
+        long iterations = 0;
+        do {
+            sink += operation.getAsLong();
+            iterations++;
+        } while (System.nanoTime() < deadline);
+        long elapsed = System.nanoTime() - start;
+
+        double nanosPerOp = (double) elapsed / iterations;
+        REPORT.printf("%-28s %12s %14.3f %14.0f%n", name, param, nanosPerOp / 1e3, 1e9 / nanosPerOp);
+    }
+
+    /**
+     * Open area with a fixed number of monsters and rocks on distinct random cells
+     * (capped by the free cells of the behavior map).
+     */
+    private static final class TickArea extends ICMazeArea {
+
+        private final int monsters;
+        private final int rocks;
+
+        TickArea(int monsters, int rocks) {
+            super("SmallArea", Size.SMALL);
+            this.monsters = monsters;
+            this.rocks = rocks;
+        }
+
+        @Override
+        protected void createArea() {
+            Random rng = randomStream("placement");
+            List<DiscreteCoordinates> free = new ArrayList<>();
+            for (int y = 1; y <= getSize(); ++y) {
+                for (int x = 1; x <= getSize(); ++x) {
+                    if (getBehavior().isTraversable(x, y)) free.add(new DiscreteCoordinates(x, y));
+                }
+            }
+
+            for (int i = 0; i < rocks && !free.isEmpty(); ++i) {
+                placeRock(free.remove(rng.nextInt(free.size())));
+            }
+            for (int i = 0; i < monsters && !free.isEmpty(); ++i) {
+                DiscreteCoordinates p = free.remove(rng.nextInt(free.size()));
+                registerActor(new LogMonster(this, Orientation.DOWN, p, LogMonster.State.RANDOM));
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.icmaze.area.ICMazeBehavior.MazeCellType;
+import ch.epfl.cs107.play.engine.actor.ImageGraphics;
+import ch.epfl.cs107.play.io.ResourcePath;
+import ch.epfl.cs107.play.math.RegionOfInterest;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.window.Canvas;
+import ch.epfl.cs107.play.window.Image;
+import ch.epfl.cs107.play.window.Window;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sol d'une aire dont le terrain est construit sans image (voir CellTypes.framed).
+ * <p>
+ * L'image de fond ne couvre que la grille de son image de comportement : étirée
+ * sur une grille plus grande, elle déformerait le décor. La couche découpe plutôt
+ * dans le fond une cellule de chaque type (sol, mur) et la répète sur chaque
+ * cellule de la grille, avec une seule image par type déplacée de cellule en
+ * cellule, comme RockLayer.
+ */
+public final class GroundLayer {
+
+    // Sous le fond des autres aires et sous tous les acteurs
+    private static final float DEPTH = -Float.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final CellTypes terrain;
+
+    // Transformation de chaque cellule, calculée au premier dessin
+    private final Transform[] transforms;
+
+    private final CellCursor cursor = new CellCursor();
+    private final Map<MazeCellType, ImageGraphics> tiles = new EnumMap<>(MazeCellType.class);
+
+    /**
+     * @param terrain  terrain de l'aire
+     * @param source   terrain de l'image de comportement gridName, dont le fond fournit les motifs
+     */
+    GroundLayer(Window window, String gridName, CellTypes terrain, CellTypes source) {
+        this.width = terrain.getWidth();
+        this.height = terrain.getHeight();
+        this.terrain = terrain;
+        this.transforms = new Transform[terrain.getWidth() * terrain.getHeight()];
+
+        String background = ResourcePath.getBackground(gridName);
+        Image image = window.getImage(background, null, false);
+        int cellWidth = image.getWidth() / source.getWidth();
+        int cellHeight = image.getHeight() / source.getHeight();
+        if (cellWidth == 0 || cellHeight == 0) return;
+
+        // Premier exemplaire de chaque type dans l'image source
+        for (int y = 0; y < source.getHeight(); ++y) {
+            for (int x = 0; x < source.getWidth(); ++x) {
+                MazeCellType type = source.type(x, y);
+                if (tiles.containsKey(type)) continue;
+
+                // Les régions d'image se comptent depuis le haut
+                RegionOfInterest cell = new RegionOfInterest(x * cellWidth,
+                        (source.getHeight() - 1 - y) * cellHeight, cellWidth, cellHeight);
+                ImageGraphics tile = new ImageGraphics(background, 1f, 1f, cell, Vector.ZERO, 1f, DEPTH);
+                tile.setParent(cursor);
+                tiles.put(type, tile);
+            }
+        }
+    }
+
+    /**
+     * Dessine le motif des cellules du rectangle [minX, maxX] x [minY, maxY] ;
+     * un type absent de l'image source n'est pas dessiné.
+     */
+    public void draw(Canvas canvas, int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(0, minX);
+        minY = Math.max(0, minY);
+        maxX = Math.min(width - 1, maxX);
+        maxY = Math.min(height - 1, maxY);
+
+        for (int y = minY; y <= maxY; ++y) {
+            for (int x = minX; x <= maxX; ++x) {
+                ImageGraphics tile = tiles.get(terrain.type(x, y));
+                if (tile == null) continue;
+
+                int index = x + y * width;
+                Transform transform = transforms[index];
+                if (transform == null) {
+                    transform = Transform.I.translated(x, y);
+                    transforms[index] = transform;
+                }
+                cursor.transform = transform;
+                tile.draw(canvas);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ch.epfl.cs107.icmaze.headless;
+
+import ch.epfl.cs107.icmaze.FixedStepClock;
+import ch.epfl.cs107.icmaze.ICMaze;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.play.io.DefaultFileSystem;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourceFileSystem;
+import ch.epfl.cs107.play.window.Window;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs ICMaze without a display, at a fixed timestep and as fast as possible.
+ *
+ * Input comes from a {@link ScriptedKeyboard}; by default a {@link RandomWalkBot}
+ * wanders through the level. The level seed is read from the icmaze.seed
+ * system property, so a run with the same seed and bot seed is reproducible.
+ *
+ * With -Dicmaze.metrics=true the per-actor-class costs are written at the end
+ * of the run to the files named by -Dicmaze.metrics.csv and -Dicmaze.metrics.json
+ * (as CSV on the standard output if neither is set).
+ *
+ * Usage: java [-Dicmaze.seed=N] ch.epfl.cs107.icmaze.headless.HeadlessRunner [frames] [botSeed]
+ */
+public final class HeadlessRunner {
+
+    /** Simulated frame duration: one simulation step of the game, so frames run back to back */
+    public static final float STEP = FixedStepClock.STEP;
+
+    public static final String METRICS_CSV_PROPERTY = "icmaze.metrics.csv";
+    public static final String METRICS_JSON_PROPERTY = "icmaze.metrics.json";
+
+    private final FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+    private final ScriptedKeyboard keyboard;
+    private final Window window;
+    private final ICMaze game = new ICMaze();
+    private long frames;
+
+    public HeadlessRunner(ScriptedKeyboard keyboard) {
+        this.keyboard = keyboard;
+        this.window = HeadlessWindow.create(fileSystem, keyboard);
+    }
+
+    /**
+     * @return false if the game could not start
+     */
+    public boolean begin() {
+        return game.begin(window, fileSystem);
+    }
+
+    /**
+     * Simulates one frame: advances the input, then updates the game.
+     */
+    public void step() {
+        keyboard.advance();
+        game.update(STEP);
+        ++frames;
+    }
+
+    public void run(long count) {
+        for (long i = 0; i < count; ++i) step();
+    }
+
+    public void end() {
+        game.end();
+    }
+
+    public ICMaze getGame() {
+        return game;
+    }
+
+    public Window getWindow() {
+        return window;
+    }
+
+    public ScriptedKeyboard getKeyboard() {
+        return keyboard;
+    }
+
+    /**
+     * @return the number of frames simulated so far
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    public static void main(String[] args) {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 20_000L;
+        long botSeed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+
+        HeadlessRunner runner = new HeadlessRunner(new ScriptedKeyboard().setDriver(new RandomWalkBot(botSeed)));
+        if (!runner.begin()) {
+            System.err.println("HeadlessRunner: the game failed to start");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        runner.run(count);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        runner.end();
+
+        System.out.printf("HeadlessRunner: %d frames in %.2f s (%.0f frames/s, %.1fx real time)%n",
+                count, seconds, count / seconds, count * STEP / seconds);
+
+        if (ActorMetrics.ENABLED) exportMetrics();
+    }
+
+    /**
+     * Writes the actor metrics to the configured files, or as CSV to the standard output.
+     */
+    public static void exportMetrics() {
+        String csv = System.getProperty(METRICS_CSV_PROPERTY);
+        String json = System.getProperty(METRICS_JSON_PROPERTY);
+        try {
+            if (csv == null && json == null) {
+                ActorMetrics.writeCsv(System.out);
+                return;
+            }
+            if (csv != null) {
+                try (Writer out = Files.newBufferedWriter(Path.of(csv), StandardCharsets.UTF_8)) {
+                    ActorMetrics.writeCsv(out);
+                }
+            }
+            if (json != null) {
+                try (Writer out = Files.newBufferedWriter(Path.of(json), StandardCharsets.UTF_8)) {
+                    ActorMetrics.writeJson(out);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("HeadlessRunner: cannot export metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ch.epfl.cs107.icmaze.headless;
+
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Image;
+import ch.epfl.cs107.play.window.Keyboard;
+import ch.epfl.cs107.play.window.Window;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in {@link Window} for running the game without a display.
+ *
+ * The window is a dynamic proxy, so it follows the engine interface without
+ * re-implementing it: drawing calls do nothing, the keyboard is the given one,
+ * and images are decoded from the file system (behavior maps must be real so
+ * that areas get their cells). Every other query returns a neutral value
+ * (false, 0, identity transform, idle button, or another neutral proxy).
+ */
+public final class HeadlessWindow {
+
+    /** Logical size reported by the window, in pixels */
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 800;
+
+    private static final Button IDLE = new Button(false, false, false);
+
+    private HeadlessWindow() {}
+
+    /**
+     * @param fileSystem where images are read from
+     * @param keyboard   keyboard returned by getKeyboard()
+     */
+    public static Window create(FileSystem fileSystem, Keyboard keyboard) {
+        Map<String, Image> images = new HashMap<>();
+
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getKeyboard" -> keyboard;
+            case "getImage" -> images.computeIfAbsent((String) args[0], name -> loadImage(fileSystem, name));
+            case "getWidth" -> method.getReturnType() == int.class ? WIDTH : neutral(method.getReturnType());
+            case "getHeight" -> method.getReturnType() == int.class ? HEIGHT : neutral(method.getReturnType());
+            default -> objectMethod(proxy, method, args);
+        };
+        return (Window) Proxy.newProxyInstance(Window.class.getClassLoader(), new Class<?>[]{Window.class}, handler);
+    }
+
+    private static Image loadImage(FileSystem fileSystem, String name) {
+        BufferedImage image;
+        try (InputStream in = fileSystem.read(name)) {
+            image = ImageIO.read(in);
+        } catch (IOException e) {
+            image = null;
+        }
+        if (image == null) {
+            System.err.println("HeadlessWindow: cannot read image " + name + ", using a blank one");
+            image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        BufferedImage pixels = image;
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getWidth" -> pixels.getWidth();
+            case "getHeight" -> pixels.getHeight();
+            // Image.getRGB takes (row, column), BufferedImage.getRGB takes (x, y)
+            case "getRGB" -> pixels.getRGB((int) args[1], (int) args[0]);
+            default -> objectMethod(proxy, method, args);
+        };
+        return (Image) Proxy.newProxyInstance(Image.class.getClassLoader(), new Class<?>[]{Image.class}, handler);
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> args != null && args.length == 1 && proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "Headless" + proxy.getClass().getInterfaces()[0].getSimpleName();
+            default -> neutral(method.getReturnType());
+        };
+    }
+
+    /**
+     * Neutral value for a return type; interfaces get a proxy answering neutral values.
+     */
+    private static Object neutral(Class<?> type) {
+        if (type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == String.class) return "";
+        if (type == Transform.class) return Transform.I;
+        if (type == Vector.class) return Vector.ZERO;
+        if (type == Button.class) return IDLE;
+        if (type.isInterface()) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> objectMethod(proxy, method, args));
+        }
+        return null;
+    }
+}
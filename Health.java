@@ -1,6 +1,9 @@
 package ch.epfl.cs107.icmaze.actor;
 
 
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.play.areagame.actor.AreaEntity;
 import ch.epfl.cs107.play.engine.actor.Graphics;
 import ch.epfl.cs107.play.math.Positionable;
 import ch.epfl.cs107.play.math.Transform;
@@ -21,6 +24,15 @@ import java.util.List;
  */
 public class Health implements Graphics, Logic {
 
+    /**
+     * The grey outline, identical for every bar
+     */
+    private static final Polygon OUTLINE = fill(0.9f);
+
+    /**
+     * The entity the bar belongs to, used to find its area (null if none)
+     */
+    private final AreaEntity owner;
     /**
      * A positionable to the parent entity to draw the health bar on top of
      */
@@ -42,6 +54,17 @@ public class Health implements Graphics, Logic {
      * The actual number of health points the entity currently has
      */
     private int healthPoints;
+    /**
+     * The green / red polygon, rebuilt only when the health points change
+     */
+    private Polygon fillPolygon;
+    private int fillHealthPoints;
+    /**
+     * The bar transform, recomputed only when the parent transform changes value
+     * (the parent may return a new but equal transform on each call)
+     */
+    private Transform lastParentTransform;
+    private Transform barTransform;
 
     /**
      * The default Health constructor.
@@ -52,11 +75,26 @@ public class Health implements Graphics, Logic {
      * @param isFriendly   (boolean): true if the health bar must be green, false otherwise.
      */
     public Health(Positionable parent, Transform transform, int healthPoints, boolean isFriendly) {
+        this(parent instanceof AreaEntity entity ? entity : null, parent, transform, healthPoints, isFriendly);
+    }
+
+    /**
+     * A health bar drawn on a separate anchor, such as an interpolated drawing position.
+     *
+     * @param owner        (AreaEntity): the entity the bar belongs to, may be null
+     * @param parent       (Positionable): the anchor to draw the health bar on top of
+     * @param transform    (Transform): the transform from the anchor
+     * @param healthPoints (int): the number of health points the entity starts with. This will be a maximum.
+     * @param isFriendly   (boolean): true if the health bar must be green, false otherwise.
+     */
+    public Health(AreaEntity owner, Positionable parent, Transform transform, int healthPoints, boolean isFriendly) {
+        this.owner = owner;
         this.parent = parent;
         this.transform = transform;
         this.maxHealth = healthPoints;
         this.healthPoints = healthPoints;
         this.isFriendly = isFriendly;
+        ActorMetrics.created(this);
     }
 
     /**
@@ -84,27 +122,56 @@ public class Health implements Graphics, Logic {
     }
 
     /**
-     * Renders a health bar on the specified canvas.
+     * Renders a health bar on the specified canvas. Inside an ICMazeArea the bar
+     * is queued in the area's HealthBarBatch and drawn with the others after the actors.
      *
      * @param canvas target, not null
      */
     @Override
     public void draw(Canvas canvas) {
+        if (owner != null && owner.getOwnerArea() instanceof ICMazeArea area) {
+            area.getHealthBars().add(this, canvas);
+            return;
+        }
+        ActorMetrics.push(this, ActorMetrics.Kind.DRAW);
+        render(canvas);
+        ActorMetrics.pop();
+    }
+
+    /**
+     * Draws the bar now, from the shared outline and the cached fill polygon.
+     *
+     * @param canvas target, not null
+     */
+    void render(Canvas canvas) {
+        Transform parentTransform = parent.getTransform();
+        if (lastParentTransform == null || !sameValue(parentTransform, lastParentTransform)) {
+            lastParentTransform = parentTransform;
+            barTransform = parentTransform.transformed(transform);
+        }
+        if (fillPolygon == null || fillHealthPoints != healthPoints) {
+            fillHealthPoints = healthPoints;
+            fillPolygon = fill(0.8f * healthPoints / maxHealth + 0.1f);
+        }
+
         // draws the grey outline
-        canvas.drawShape(new Polygon(List.of(
-                new Vector(0.1f, 0),
-                new Vector(0.9f, 0),
-                new Vector(0.9f, 0.15f),
-                new Vector(0.1f, 0.15f)
-        )), parent.getTransform().transformed(transform), Color.GRAY, Color.BLACK, 0.1f, 1, 0);
+        canvas.drawShape(OUTLINE, barTransform, Color.GRAY, Color.BLACK, 0.1f, 1, 0);
         // draws the green / red bar
-        canvas.drawShape(new Polygon(List.of(
+        canvas.drawShape(fillPolygon, barTransform, isFriendly ? Color.GREEN : Color.RED, null, 0, 0.5f, 0);
+    }
+
+    private static boolean sameValue(Transform a, Transform b) {
+        return a == b || (a.m02 == b.m02 && a.m12 == b.m12
+                && a.m00 == b.m00 && a.m01 == b.m01 && a.m10 == b.m10 && a.m11 == b.m11);
+    }
+
+    private static Polygon fill(float right) {
+        return new Polygon(List.of(
                 new Vector(0.1f, 0),
-                new Vector(0.8f * healthPoints / maxHealth + 0.1f, 0),
-                new Vector(0.8f*  healthPoints / maxHealth + 0.1f, 0.15f),
+                new Vector(right, 0),
+                new Vector(right, 0.15f),
                 new Vector(0.1f, 0.15f)
-        )), parent.getTransform().transformed(transform), isFriendly ? Color.GREEN : Color.RED, null, 0, 0.5f, 0);
-
+        ));
     }
 
     /**
@@ -0,0 +1,57 @@
+package ch.epfl.cs107.icmaze.actor;
+
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.play.window.Canvas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HealthBarBatch collects the health bars drawn by the actors of an area during
+ * a frame and renders them all in a single pass once the actors have been drawn.
+ * <p>
+ * The list is reused from frame to frame, so queuing a bar does not allocate.
+ */
+public final class HealthBarBatch {
+
+    /**
+     * The bars queued during the current frame
+     */
+    private final List<Health> bars = new ArrayList<>();
+    /**
+     * The canvas the bars were drawn on
+     */
+    private Canvas canvas;
+
+    /**
+     * Queues a bar for the next flush.
+     *
+     * @param health (Health): the bar to draw, not null
+     * @param canvas (Canvas): the target, not null
+     */
+    void add(Health health, Canvas canvas) {
+        bars.add(health);
+        this.canvas = canvas;
+    }
+
+    /**
+     * Renders every queued bar, then empties the batch.
+     */
+    public void flush() {
+        for (int i = 0; i < bars.size(); ++i) {
+            Health health = bars.get(i);
+            ActorMetrics.push(health, ActorMetrics.Kind.DRAW);
+            health.render(canvas);
+            ActorMetrics.pop();
+        }
+        bars.clear();
+        canvas = null;
+    }
+
+    /**
+     * @return (int): the number of bars waiting to be drawn
+     */
+    public int size() {
+        return bars.size();
+    }
+}
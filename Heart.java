@@ -1,6 +1,7 @@
 package ch.epfl.cs107.icmaze.actor.collectable;
 
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.engine.actor.Animation;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
@@ -38,10 +39,11 @@ public class Heart extends ICMazeCollectable {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
         animation.draw(canvas);
     }
 
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 }
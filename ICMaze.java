@@ -3,20 +3,43 @@ package ch.epfl.cs107.icmaze;
 import ch.epfl.cs107.icmaze.actor.ICMazePlayer;
 import ch.epfl.cs107.icmaze.actor.Portal;
 import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.profiling.TickProfiler;
 
 import ch.epfl.cs107.play.areagame.AreaGame;
 import ch.epfl.cs107.play.io.FileSystem;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.window.Window;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class ICMaze extends AreaGame {
 
     // Longueur du niveau (nombre d'aires labyrinthiques hors Spawn et Boss)
     private static final int LEVEL_LENGTH = 5;
 
+    // Les aires à au plus ce nombre de portails du joueur sont préparées en fond
+    private static final int MATERIALISE_RADIUS = 1;
+
+    // Les aires à plus de ce nombre de portails du joueur sont évincées
+    private static final int EVICTION_DISTANCE = 2;
+
     private ICMazeArea[] allAreas;
+    private final Map<String, Integer> areaIndex = new HashMap<>();
     private ICMazePlayer player;
 
+    // Graine de la session : chaque niveau (et chaque reset) en dérive un flux indépendant
+    private final RandomGenerator sessionRandom = RandomGenerator.fromSystemProperty();
+    private int levelCount = 0;
+
+    // Paramètres de génération ; le niveau suivant est préparé en fond avec ces paramètres
+    private LevelSettings settings = new LevelSettings(LEVEL_LENGTH);
+    private final NextLevelBuffer nextLevel = new NextLevelBuffer();
+
+    // Simulation à pas fixe, indépendante de la cadence de la fenêtre
+    private final FixedStepClock clock = new FixedStepClock();
+    private SteppedKeyboard keyboard;
+
     @Override
     public String getTitle() {
         return "ICMaze";
@@ -27,13 +50,19 @@ public class ICMaze extends AreaGame {
         if (!super.begin(window, fileSystem)) {
             return false;
         }
+        clock.reset();
+
+        // Le jeu lit le clavier à travers le découpage en pas (conservé lors d'un reset)
+        if (keyboard == null) keyboard = new SteppedKeyboard(window.getKeyboard());
 
         // Générer le niveau procéduralement
         allAreas = createAreas();
 
-        // Ajouter toutes les aires au jeu
-        for (ICMazeArea area : allAreas) {
-            addArea(area);
+        // Ajouter toutes les aires au jeu ; elles ne sont démarrées qu'à la première entrée
+        areaIndex.clear();
+        for (int i = 0; i < allAreas.length; ++i) {
+            addArea(allAreas[i]);
+            areaIndex.put(allAreas[i].getTitle(), i);
         }
 
         // L'aire initiale est la première (Spawn)
@@ -43,24 +72,86 @@ public class ICMaze extends AreaGame {
         // Position initiale du joueur
         DiscreteCoordinates spawnPos = new DiscreteCoordinates(4, 4);
 
-        player = new ICMazePlayer(current, spawnPos, window.getKeyboard());
+        player = new ICMazePlayer(current, spawnPos, keyboard);
         player.enterArea(current, spawnPos);
+        approach(0);
 
         return true;
     }
 
     /**
-     * Crée les aires du niveau en utilisant le générateur procédural.
+     * Change les paramètres de génération ; le niveau pré-généré devient invalide.
+     * Les nouveaux paramètres s'appliquent au prochain reset.
+     */
+    public void setLevelSettings(LevelSettings settings) {
+        if (settings.equals(this.settings)) return;
+        this.settings = settings;
+        nextLevel.invalidate();
+        nextLevel.prefetch(settings, levelCount, sessionRandom.split(levelCount));
+    }
+
+    public LevelSettings getLevelSettings() {
+        return settings;
+    }
+
+    /**
+     * Crée les aires du niveau : reprend le niveau pré-généré en fond s'il existe,
+     * sinon le génère directement, puis lance la préparation du niveau suivant.
      */
     private ICMazeArea[] createAreas() {
-        // Utiliser le LevelGenerator pour générer le niveau
-        return LevelGenerator.generateLine(LEVEL_LENGTH);
+        int index = levelCount++;
+        System.out.println("ICMaze: session seed " + sessionRandom + ", level " + index);
+
+        // Le niveau pré-généré utilise le même flux reproductible qu'une génération directe
+        ICMazeArea[] areas = nextLevel.take(settings, index);
+        if (areas == null) {
+            areas = LevelGenerator.generateLine(settings.length(), sessionRandom.split(index));
+        }
+
+        nextLevel.prefetch(settings, levelCount, sessionRandom.split(levelCount));
+        return areas;
     }
 
     @Override
     public void update(float deltaTime) {
+        if (!TickProfiler.ENABLED) {
+            runSteps(deltaTime);
+            return;
+        }
+
+        // Profilage : durée de la frame attribuée à l'aire où elle a commencé
+        String title = getCurrentArea().getTitle();
+        long start = System.nanoTime();
+        runSteps(deltaTime);
+        TickProfiler.recordFrame(title, System.nanoTime() - start);
+
+        if (getWindow().getKeyboard().get(KeyBindings.PAUSE_GAME).isPressed()) {
+            TickProfiler.dump(System.out);
+        }
+    }
+
+    /**
+     * Exécute les pas de simulation dus pour cette frame, sans dessin, puis dessine
+     * une seule fois l'aire courante avec les acteurs interpolés entre leurs deux
+     * dernières positions. Une frame sans pas dû dessine donc une image intermédiaire.
+     */
+    private void runSteps(float deltaTime) {
+        keyboard.poll();
+        int steps = clock.advance(deltaTime);
+        for (int i = 0; i < steps; ++i) {
+            keyboard.beginStep(i == 0);
+            updateGame(FixedStepClock.STEP);
+        }
+        if (steps > 0) keyboard.endSteps();
+
+        if (getCurrentArea() instanceof ICMazeArea area) {
+            area.drawFrame(getWindow(), clock.alpha());
+        }
+    }
+
+    private void updateGame(float deltaTime) {
         // RESET
-        if (getWindow().getKeyboard().get(KeyBindings.RESET_GAME).isPressed()) {
+        if (keyboard.get(KeyBindings.RESET_GAME).isPressed()) {
             begin(getWindow(), getFileSystem());
             return;
         }
@@ -99,5 +190,34 @@ public class ICMaze extends AreaGame {
         player.enterArea(nextArea, arrival);
 
         System.out.println("✅ Player switched to " + nextArea.getTitle() + " at position " + arrival);
+
+        Integer index = areaIndex.get(nextArea.getTitle());
+        if (index != null) approach(index);
+    }
+
+    /**
+     * Prépare en fond les aires voisines de l'aire courante et évince les aires éloignées.
+     * Le niveau est linéaire : la distance en portails entre deux aires est l'écart de leurs indices.
+     *
+     * @param current Indice de l'aire où se trouve le joueur
+     */
+    private void approach(int current) {
+        for (int i = Math.max(0, current - MATERIALISE_RADIUS);
+             i <= Math.min(allAreas.length - 1, current + MATERIALISE_RADIUS); ++i) {
+            LevelGenerator.prepareAsync(allAreas[i]);
+        }
+
+        for (int i = 0; i < allAreas.length; ++i) {
+            if (Math.abs(i - current) <= EVICTION_DISTANCE) continue;
+
+            ICMazeArea area = allAreas[i];
+            if (!area.isMaterialised() && !area.isPrepared()) continue;
+
+            ICMazeArea shell = area.evict();
+            if (shell != null) {
+                allAreas[i] = shell;
+                addArea(shell);
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package ch.epfl.cs107.icmaze.actor;
 
 import ch.epfl.cs107.icmaze.actor.util.Cooldown;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 import ch.epfl.cs107.play.areagame.actor.MovableAreaEntity;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.Positionable;
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
 
 /**
  * Classe de base pour tous les acteurs du jeu ICMaze
@@ -18,7 +22,10 @@ public abstract class ICMazeActor extends MovableAreaEntity {
 
     /** Gestion du délai entre deux coups reçus */
     protected final Cooldown hitCooldown;
-    private boolean onHitCooldown = false;
+
+    /** Point d'attache des dessins, interpolé entre les deux derniers pas de simulation */
+    private final RenderAnchor renderAnchor = new RenderAnchor();
+    private Vector previousPosition;
 
     public ICMazeActor(Area area,
                        Orientation orientation,
@@ -27,12 +34,14 @@ public abstract class ICMazeActor extends MovableAreaEntity {
                        boolean isFriendly,
                        float hitCooldownSeconds) {
         super(area, orientation, position);
+        ActorMetrics.created(this);
 
         // Barre de vie légèrement au-dessus de l’acteur
-        this.health = new Health(this, Transform.I.translated(0.f, 1.75f), maxHealth, isFriendly);
+        this.health = new Health(this, renderAnchor, Transform.I.translated(0.f, 1.75f), maxHealth, isFriendly);
 
         // Cooldown entre deux dégâts
         this.hitCooldown = new Cooldown(hitCooldownSeconds);
+        if (area instanceof ICMazeArea mazeArea) hitCooldown.bind(mazeArea.getTimers());
     }
 
     /** L’acteur est-il encore en vie ? */
@@ -42,12 +51,17 @@ public abstract class ICMazeActor extends MovableAreaEntity {
 
     /** Inflige des dégâts en respectant le cooldown. */
     public void damage(int amount) {
-        if (!onHitCooldown && isAlive()) {
+        if (hitCooldown.isReady() && isAlive()) {
             health.decrease(amount);
-            onHitCooldown = true;
+            hitCooldown.reset();
         }
     }
 
+    /** L’acteur vient-il d’être touché (coups suivants ignorés) ? */
+    protected boolean isImmune() {
+        return !hitCooldown.isReady();
+    }
+
     /** Soigne l’acteur. */
     public void heal(int amount) {
         health.increase(amount);
@@ -63,17 +77,71 @@ public abstract class ICMazeActor extends MovableAreaEntity {
         area.registerActor(this);
         area.setViewCandidate(this);
         setOwnerArea(area);
+        if (area instanceof ICMazeArea mazeArea) {
+            hitCooldown.bind(mazeArea.getTimers());
+            // La caméra suit la position dessinée, pas la position du dernier pas
+            mazeArea.setCameraAnchor(renderAnchor);
+        }
         setCurrentPosition(position.toVector());
         resetMotion();
+        snapRender();
+    }
+
+    /**
+     * Parent à donner aux sprites et animations de l'acteur : suit l'acteur
+     * avec l'interpolation de dessin de son aire.
+     */
+    protected final Positionable renderAnchor() {
+        return renderAnchor;
+    }
+
+    /**
+     * Annule l'interpolation jusqu'au prochain pas (après un téléport).
+     */
+    protected final void snapRender() {
+        previousPosition = null;
     }
 
     @Override
     public void update(float deltaTime) {
+        ActorMetrics.enter(this, ActorMetrics.Kind.UPDATE);
+        previousPosition = getPosition();
         super.update(deltaTime);
 
-        // Avance le cooldown des dégâts
-        if (onHitCooldown && hitCooldown.ready(deltaTime)) {
-            onHitCooldown = false;
+        // Avance le cooldown des dégâts (sans effet s'il est rattaché aux minuteries de l'aire)
+        hitCooldown.update(deltaTime);
+    }
+
+    /**
+     * Position de dessin : entre la position avant le dernier pas et la position actuelle.
+     */
+    private final class RenderAnchor implements Positionable {
+
+        private Transform transform;
+        private float x = Float.NaN;
+        private float y = Float.NaN;
+
+        @Override
+        public Transform getTransform() {
+            Vector current = getPosition();
+            float alpha = getOwnerArea() instanceof ICMazeArea area ? area.getRenderAlpha() : 1f;
+            if (previousPosition == null || alpha >= 1f || previousPosition.equals(current)) {
+                return ICMazeActor.this.getTransform();
+            }
+
+            float nx = previousPosition.x + (current.x - previousPosition.x) * alpha;
+            float ny = previousPosition.y + (current.y - previousPosition.y) * alpha;
+            if (transform == null || nx != x || ny != y) {
+                x = nx;
+                y = ny;
+                transform = Transform.I.translated(nx, ny);
+            }
+            return transform;
+        }
+
+        @Override
+        public Vector getVelocity() {
+            return ICMazeActor.this.getVelocity();
         }
     }
 }
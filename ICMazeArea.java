@@ -1,17 +1,33 @@
 package ch.epfl.cs107.icmaze.area;
 
+import ch.epfl.cs107.icmaze.RandomGenerator;
+import ch.epfl.cs107.icmaze.actor.HealthBarBatch;
 import ch.epfl.cs107.icmaze.actor.Portal;
+import ch.epfl.cs107.icmaze.actor.ProjectilePool;
+import ch.epfl.cs107.icmaze.actor.Rock;
+import ch.epfl.cs107.icmaze.actor.WaterProjectile;
+import ch.epfl.cs107.icmaze.actor.util.TimerWheel;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.icmaze.profiling.TickProfiler;
 import ch.epfl.cs107.play.areagame.AreaGraph;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.engine.actor.Background;
+import ch.epfl.cs107.play.engine.actor.Graphics;
 import ch.epfl.cs107.play.io.FileSystem;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.Positionable;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.window.Canvas;
 import ch.epfl.cs107.play.window.Window;
 
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Random;
 
 public abstract class ICMazeArea extends Area {
 
@@ -33,9 +49,61 @@ public abstract class ICMazeArea extends Area {
 
     private AreaGraph graph;
 
+    // Cellules occupées par un rocher (index x + y * largeur), construites dans createArea()
+    private boolean[] rockCells;
+
+    // Rochers jamais touchés, dessinés sans acteur
+    private RockLayer rockLayer;
+
+    // Fond de l'aire, dessiné par drawFrame() et non enregistré comme acteur : l'image
+    // si elle couvre la grille, sinon un sol répété sur le terrain construit (l'autre est null)
+    private Background background;
+    private GroundLayer ground;
+
+    // Point suivi par la caméra au dessin (position interpolée du candidat de vue)
+    private Positionable cameraAnchor;
+
+    // Carte de distances vers le joueur, partagée par les monstres de l'aire
+    private FlowField flowField;
+
+    // Coordonnées immuables de chaque cellule, réutilisées pour éviter les allocations
+    private DiscreteCoordinates[] cells;
+
+    // Générateur aléatoire de l'aire ; LevelGenerator lui donne un flux dérivé de la graine du niveau
+    private RandomGenerator random = RandomGenerator.fromClock();
+    private final Map<String, Integer> streamCounters = new HashMap<>();
+
     // ID de la clé de sortie pour cette aire (0 = pas de clé nécessaire)
     private int exitKeyId = 0;
 
+    // Plan de génération, calculé une seule fois (éventuellement sur un autre thread)
+    private AreaPlan plan;
+    private boolean planned;
+
+    // Réserve de projectiles d'eau de l'aire, recyclés au début de chaque mise à jour
+    private final ProjectilePool<WaterProjectile> waterProjectiles = new ProjectilePool<>(this, WaterProjectile::new);
+
+    // Cadence de mise à jour des acteurs éloignés ou endormis
+    private final ActivityScheduler activity = new ActivityScheduler();
+
+    // Minuteries des cooldowns de l'aire, avancées d'un tick par pas de simulation
+    private final TimerWheel timers = new TimerWheel();
+
+    // Avancement entre les deux derniers pas de simulation, pour l'interpolation du dessin
+    private float renderAlpha = 1f;
+
+    // Vrai pendant drawFrame() : les acteurs ne dessinent qu'à ce moment
+    private boolean drawing;
+
+    // Barres de vie de la frame, dessinées ensemble après les acteurs
+    private final HealthBarBatch healthBars = new HealthBarBatch();
+
+    // Titre unique dans le niveau (nom de la classe par défaut)
+    private String title;
+
+    // Vrai une fois begin() passé : l'aire possède ses acteurs
+    private boolean materialised;
+
     protected ICMazeArea(String gridName, int size) {
         this.gridName = gridName;
         this.size = size;
@@ -63,6 +131,180 @@ public abstract class ICMazeArea extends Area {
         return graph.shortestPath(from, to);
     }
 
+    /**
+     * Prochaine orientation pour rejoindre la cible en lisant la carte de distances partagée.
+     * La carte n'est recalculée que si la cible a changé de cellule depuis la dernière requête.
+     *
+     * @return l'orientation à prendre, ou null si la cible est inaccessible
+     */
+    public final Orientation nextOrientationTowards(DiscreteCoordinates from, DiscreteCoordinates target) {
+        if (flowField == null) return null;
+        flowField.retarget(target.x, target.y);
+        return flowField.nextStep(from.x, from.y);
+    }
+
+    /**
+     * Largeur de la grille de navigation : l'intérieur de l'aire plus la bordure des portails.
+     */
+    public final int getGridWidth() {
+        return size + 2;
+    }
+
+    public final int getGridHeight() {
+        return size + 2;
+    }
+
+    public final boolean isInGrid(int x, int y) {
+        return x >= 0 && y >= 0 && x < getGridWidth() && y < getGridHeight();
+    }
+
+    protected final int cellIndex(int x, int y) {
+        return x + y * getGridWidth();
+    }
+
+    /**
+     * @return l'instance partagée des coordonnées (x, y), ou null hors de la grille
+     */
+    public final DiscreteCoordinates cellAt(int x, int y) {
+        if (!isInGrid(x, y)) return null;
+        int index = cellIndex(x, y);
+        DiscreteCoordinates c = cells[index];
+        if (c == null) {
+            c = new DiscreteCoordinates(x, y);
+            cells[index] = c;
+        }
+        return c;
+    }
+
+    /**
+     * Ligne de vue (Bresenham) : aucune cellule intermédiaire ne doit bloquer la vue.
+     * Les cellules de départ et d'arrivée ne sont pas testées, un mur reste donc visible.
+     */
+    public final boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        if (x0 == x1 && y0 == y1) return true;
+
+        int dx = Math.abs(x1 - x0);
+        int dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+        int err = dx + dy;
+        int x = x0;
+        int y = y0;
+
+        while (true) {
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+            if (x == x1 && y == y1) return true;
+            if (!isWalkable(x, y)) return false;
+        }
+    }
+
+    /**
+     * Pose un rocher dans la couche statique et le marque comme obstacle
+     * dans la grille de navigation et dans la cellule du comportement.
+     */
+    protected final void placeRock(DiscreteCoordinates position) {
+        if (!isInGrid(position.x, position.y)) return;
+        rockCells[cellIndex(position.x, position.y)] = true;
+        behavior.setRock(position.x, position.y, true);
+        rockLayer.add(position.x, position.y);
+    }
+
+    /**
+     * Remplace le rocher statique de la cellule par un vrai Rock, qui peut
+     * alors être endommagé. Sans effet si la cellule n'est pas dans la couche.
+     */
+    public final void promoteRock(DiscreteCoordinates position) {
+        if (rockLayer == null || !isInGrid(position.x, position.y)) return;
+        if (rockLayer.remove(position.x, position.y)) {
+            registerActor(new Rock(this, Orientation.DOWN, position));
+        }
+    }
+
+    /**
+     * @return vrai si un rocher occupe encore la cellule donnée
+     */
+    protected final boolean hasRock(DiscreteCoordinates position) {
+        return rockCells != null
+                && isInGrid(position.x, position.y)
+                && rockCells[cellIndex(position.x, position.y)];
+    }
+
+    /**
+     * Appelé par un rocher détruit : la cellule redevient praticable
+     * sans reconstruire le graphe.
+     */
+    public void onRockDestroyed(DiscreteCoordinates position) {
+        if (rockCells == null || !isInGrid(position.x, position.y)) return;
+        rockCells[cellIndex(position.x, position.y)] = false;
+        behavior.setRock(position.x, position.y, false);
+        if (graph != null && graph.nodeExists(position)) {
+            graph.setSignal(position, Logic.TRUE);
+        }
+        if (flowField != null) flowField.invalidate();
+    }
+
+    /**
+     * Cellule franchissable par le terrain (comportement) et libre de rocher.
+     */
+    public final boolean isWalkable(int x, int y) {
+        return isInGrid(x, y)
+                && behavior.isTraversable(x, y)
+                && !rockCells[cellIndex(x, y)];
+    }
+
+    /**
+     * Construit une seule fois le graphe de navigation à partir du terrain.
+     * Les rochers sont des noeuds désactivés par signal, réactivés à leur destruction.
+     */
+    private void buildGraph() {
+        AreaGraph navigation = new AreaGraph();
+        for (int y = 0; y < getGridHeight(); ++y) {
+            for (int x = 0; x < getGridWidth(); ++x) {
+                if (!behavior.isTraversable(x, y)) continue;
+
+                DiscreteCoordinates c = new DiscreteCoordinates(x, y);
+                navigation.addNode(c,
+                        behavior.isTraversable(x - 1, y),
+                        behavior.isTraversable(x, y + 1),
+                        behavior.isTraversable(x + 1, y),
+                        behavior.isTraversable(x, y - 1));
+
+                if (rockCells[cellIndex(x, y)]) {
+                    navigation.setSignal(c, Logic.FALSE);
+                }
+            }
+        }
+        setGraph(navigation);
+    }
+
+    public final void setRandomGenerator(RandomGenerator random) {
+        this.random = random;
+        streamCounters.clear();
+    }
+
+    public final RandomGenerator getRandomGenerator() {
+        return random;
+    }
+
+    /**
+     * Nouveau flux aléatoire indépendant pour un sous-système ou un acteur de l'aire.
+     * Le n-ième appel avec un même nom donne toujours le même flux pour une même graine.
+     *
+     * @param subsystem nom du sous-système ("maze", "keys", "LogMonster"...)
+     */
+    public final Random randomStream(String subsystem) {
+        int n = streamCounters.merge(subsystem, 1, Integer::sum) - 1;
+        return random.split(subsystem).split(n).random();
+    }
+
     // Méthodes publiques pour gérer l'ID de clé de sortie
     public final void setExitKeyId(int keyId) {
         this.exitKeyId = keyId;
@@ -72,6 +314,72 @@ public abstract class ICMazeArea extends Area {
         return exitKeyId;
     }
 
+    /** Le plan de l'aire a-t-il déjà été calculé ? */
+    public final synchronized boolean isPrepared() {
+        return planned;
+    }
+
+    /**
+     * Phase de génération pure : calcule le plan de l'aire s'il ne l'est pas déjà.
+     * Peut être appelée depuis un thread de génération avant begin() ; createArea()
+     * retrouve alors le plan déjà prêt et n'a plus qu'à enregistrer les acteurs.
+     *
+     * @return le plan de l'aire, ou null si elle n'en utilise pas
+     */
+    public final synchronized AreaPlan prepare() {
+        if (!planned) {
+            plan = computePlan();
+            planned = true;
+        }
+        return plan;
+    }
+
+    /**
+     * Calcule le labyrinthe et les placements de l'aire sans rien enregistrer.
+     * Ne doit lire que la taille, les portails, la clé de sortie et les flux aléatoires.
+     *
+     * @return le plan, ou null pour une aire sans génération (Spawn, Boss...)
+     */
+    protected AreaPlan computePlan() {
+        return null;
+    }
+
+    /**
+     * @return vrai si l'aire a été démarrée et possède ses acteurs
+     */
+    public final boolean isMaterialised() {
+        return materialised;
+    }
+
+    /**
+     * Remplace l'aire par une coquille vide qui en garde l'état persistant :
+     * titre, flux aléatoire, clé de sortie, portails et ce que createShell() y ajoute.
+     * La coquille régénère son contenu au prochain begin().
+     *
+     * @return la coquille à enregistrer à la place de cette aire, ou null si l'aire ne peut pas être évincée
+     */
+    public final ICMazeArea evict() {
+        ICMazeArea shell = createShell();
+        if (shell == null) return null;
+
+        shell.title = title;
+        shell.exitKeyId = exitKeyId;
+        shell.setRandomGenerator(random);
+        portals.forEach((side, portal) -> shell.configurePortal(side,
+                portal.getDestinationArea(),
+                portal.getArrivalCoordinates(),
+                portal.getState(),
+                portal.getKeyId()));
+        return shell;
+    }
+
+    /**
+     * @return une nouvelle aire de même type, sans acteurs, ou null si l'aire ne se laisse pas évincer
+     */
+    protected ICMazeArea createShell() {
+        return null;
+    }
+
     private static final double DYNAMIC_SCALE_MULTIPLIER = 1.375;
     private static final double MAXIMUM_SCALE = 30.0;
 
@@ -80,28 +388,137 @@ public abstract class ICMazeArea extends Area {
         return (float) Math.min(size * DYNAMIC_SCALE_MULTIPLIER, MAXIMUM_SCALE);
     }
 
+    /**
+     * Donne un titre unique à l'aire : plusieurs aires d'une même classe peuvent
+     * ainsi coexister dans le jeu. À appeler avant de connecter les portails.
+     */
+    public final void setTitle(String title) {
+        this.title = title;
+    }
+
     @Override
     public final String getTitle() {
-        return this.getClass().getSimpleName();
+        return title != null ? title : this.getClass().getSimpleName();
     }
 
     @Override
     public boolean begin(Window window, FileSystem fileSystem) {
         if (!super.begin(window, fileSystem)) return false;
 
-        behavior = new ICMazeBehavior(window, gridName);
+        behavior = ICMazeBehavior.forMaze(window, gridName, size);
         setBehavior(behavior);
 
-        registerActor(new Background(this, gridName));
+        CellTypes source = CellTypes.cached(gridName);
+        if (behavior.hasImage()) background = new Background(this, gridName);
+        else if (source != null) ground = new GroundLayer(window, gridName, behavior.terrain(), source);
 
         for (Portal portal : portals.values()) registerActor(portal);
 
+        rockCells = new boolean[getGridWidth() * getGridHeight()];
+        cells = new DiscreteCoordinates[getGridWidth() * getGridHeight()];
+        rockLayer = new RockLayer(getGridWidth(), getGridHeight());
         createArea();
+        buildGraph();
+        flowField = new FlowField(this);
+        materialised = true;
         return true;
     }
 
     protected abstract void createArea();
 
+    public final ProjectilePool<WaterProjectile> getWaterProjectilePool() {
+        return waterProjectiles;
+    }
+
+    public final RockLayer getRockLayer() {
+        return rockLayer;
+    }
+
+    public final float getRenderAlpha() {
+        return renderAlpha;
+    }
+
+    /**
+     * Point suivi par la caméra lors du dessin, à la place de la position du candidat de vue.
+     */
+    public final void setCameraAnchor(Positionable anchor) {
+        this.cameraAnchor = anchor;
+    }
+
+    /**
+     * @return vrai si les acteurs de l'aire doivent dessiner maintenant : pendant
+     * drawFrame() pour une ICMazeArea, toujours pour une autre aire
+     */
+    public static boolean isDrawing(Area area) {
+        return !(area instanceof ICMazeArea mazeArea) || mazeArea.drawing;
+    }
+
+    /**
+     * Dessine l'aire une fois par frame affichée, après les pas de simulation de
+     * la frame : les mises à jour ne dessinent rien (voir isDrawing()).
+     *
+     * @param alpha position du dessin entre l'avant-dernier pas (0) et le dernier (1)
+     */
+    public final void drawFrame(Canvas canvas, float alpha) {
+        renderAlpha = alpha;
+        drawing = true;
+        TickProfiler.beginDraw(getTitle());
+        try {
+            if (cameraAnchor != null) {
+                canvas.setRelativeTransform(Transform.I.scaled(getCameraScaleFactor())
+                        .translated(cameraAnchor.getTransform().getOrigin()));
+            }
+            // Cellules visibles, plus une de marge ; toute la grille si la vue n'a pas de taille
+            float halfWidth = canvas.getScaledWidth() / 2f;
+            float halfHeight = canvas.getScaledHeight() / 2f;
+            int minX = 0, minY = 0, maxX = getGridWidth() - 1, maxY = getGridHeight() - 1;
+            if (halfWidth > 0f && halfHeight > 0f) {
+                Vector center = canvas.getTransform().getOrigin();
+                minX = (int) Math.floor(center.x - halfWidth) - 1;
+                minY = (int) Math.floor(center.y - halfHeight) - 1;
+                maxX = (int) Math.ceil(center.x + halfWidth);
+                maxY = (int) Math.ceil(center.y + halfHeight);
+            }
+
+            if (background != null) background.draw(canvas);
+            if (ground != null) ground.draw(canvas, minX, minY, maxX, maxY);
+            behavior.forEachOccupant(entity -> {
+                if (entity instanceof Graphics graphics) graphics.draw(canvas);
+            });
+            rockLayer.draw(canvas, minX, minY, maxX, maxY);
+            healthBars.flush();
+        } finally {
+            drawing = false;
+            ActorMetrics.endDraw();
+            TickProfiler.endDraw();
+        }
+    }
+
+    public final ActivityScheduler getActivityScheduler() {
+        return activity;
+    }
+
+    public final TimerWheel getTimers() {
+        return timers;
+    }
+
+    public final HealthBarBatch getHealthBars() {
+        return healthBars;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        // Les projectiles libérés à la frame précédente sont désenregistrés par la purge qui suit
+        waterProjectiles.recycle();
+
+        timers.advance();
+        activity.beginFrame();
+        TickProfiler.beginArea(getTitle());
+        super.update(deltaTime);
+        TickProfiler.endArea();
+        ActorMetrics.endFrame();
+    }
+
     private void initPortals() {
         for (AreaPortals ap : AreaPortals.values()) {
             DiscreteCoordinates mainPos = portalPosition(ap);
@@ -5,29 +5,47 @@ import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.window.Window;
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.actor.Rock;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
- * Behavior that interprets a behavior image: pixels -> MazeCellType
+ * Behavior that interprets a behavior image: pixels -> MazeCellType.
+ * Areas whose grid does not match the image build their terrain from the maze size instead.
  */
 public class ICMazeBehavior extends AreaBehavior {
 
     public enum MazeCellType {
-        NONE(false),
-        GROUND(true),
-        WALL(false),
-        HOLE(true);
+        NONE(false, -1),
+        GROUND(true, -16777216),
+        WALL(false, -14112955),
+        HOLE(true, -65536);
 
         private final boolean traversable;
+        // Couleur du type dans une image de comportement
+        private final int rgb;
 
-        MazeCellType(boolean traversable) {
+        MazeCellType(boolean traversable, int rgb) {
             this.traversable = traversable;
+            this.rgb = rgb;
         }
 
         public boolean isTraversable() {
             return traversable;
         }
 
+        public int getRGB() {
+            return rgb;
+        }
+
         public static MazeCellType toType(int rgb) {
             // map the color values used in the project (from your earlier spec)
             switch (rgb) {
@@ -43,23 +61,193 @@ public class ICMazeBehavior extends AreaBehavior {
         }
     }
 
+    // Nombre d'occupants bloquants par cellule (index x + y * largeur)
+    private final int[] blockers = new int[getWidth() * getHeight()];
+
+    // Cellules occupées, parcourues par les requêtes de perception
+    private final CellIndex occupancy = new CellIndex(getWidth(), getHeight());
+
+    // Cellules où chaque entité a été comptée, et les entités comptées comme bloquantes ;
+    // tenus par ICMazeCell.enter / leave, appelés seulement quand une entité change vraiment de cellule
+    private final Map<Interactable, List<ICMazeCell>> occupants = new IdentityHashMap<>();
+    private final Set<Interactable> blocking = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Entités dans leur ordre d'arrivée, pour un ordre de dessin stable. Le moteur fait
+    // quitter ses cellules à une entité avant de la faire entrer dans les suivantes : une
+    // entité sans cellule garde donc sa place (et sa liste) jusqu'à forEachOccupant(),
+    // qui ne retire que celles qui n'ont pas été replacées depuis
+    private final List<Interactable> arrivals = new ArrayList<>();
+
+    // Type de chaque cellule, partagé avec les autres comportements de même source
+    private final CellTypes terrain;
+
     public ICMazeBehavior(Window window, String gridName) {
         super(window, gridName); // AreaBehavior loads the behavior image named gridName
+        // Les types de l'image ne sont décodés qu'une fois par nom de grille
+        this.terrain = CellTypes.decode(gridName, getWidth(), getHeight(), this::getRGB);
         buildCells();
     }
 
+    /**
+     * Comportement construit à la taille réelle d'un labyrinthe de côté size,
+     * sans image : un cadre de murs autour du sol.
+     */
+    public ICMazeBehavior(Window window, int size) {
+        this(window, CellTypes.framed(size), size);
+    }
+
+    private ICMazeBehavior(Window window, CellTypes terrain, int size) {
+        super(terrain.serve(window), "maze" + size);
+        this.terrain = terrain;
+        buildCells();
+    }
+
+    /**
+     * Vide le cache des images de comportement décodées (par exemple pour mesurer
+     * un décodage à froid) ; les comportements déjà construits gardent leur terrain.
+     */
+    public static void clearImageCache() {
+        CellTypes.clear();
+    }
+
+    /**
+     * @return vrai si le terrain vient de l'image de comportement, qui sert alors aussi
+     * de fond ; faux pour un terrain construit à la taille du labyrinthe, sans image
+     */
+    public boolean hasImage() {
+        return terrain.isDecoded();
+    }
+
+    /**
+     * @return le comportement de l'image gridName si elle couvre exactement la grille
+     * d'un labyrinthe de côté size, sinon un terrain construit à cette taille
+     */
+    static ICMazeBehavior forMaze(Window window, String gridName, int size) {
+        CellTypes image = CellTypes.cached(gridName);
+        if (image == null || (image.getWidth() == size + 2 && image.getHeight() == size + 2)) {
+            ICMazeBehavior behavior = new ICMazeBehavior(window, gridName);
+            if (behavior.getWidth() == size + 2 && behavior.getHeight() == size + 2) return behavior;
+        }
+        return new ICMazeBehavior(window, size);
+    }
+
+    /**
+     * @return le terrain du comportement, partagé : à ne pas modifier
+     */
+    CellTypes terrain() {
+        return terrain;
+    }
+
     private void buildCells() {
         int w = getWidth();
         int h = getHeight();
 
         for (int x = 0; x < w; ++x) {
             for (int y = 0; y < h; ++y) {
-                // Note: AreaBehavior.getRGB expects (r, c) with r = row index from top
-                int rgb = getRGB(h - 1 - y, x);
-                MazeCellType type = MazeCellType.toType(rgb);
-                setCell(x, y, new ICMazeCell(x, y, type));
+                setCell(x, y, new ICMazeCell(x, y, terrain.type(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Terrain franchissable, faux hors de la grille du comportement.
+     */
+    public boolean isTraversable(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return false;
+        return ((ICMazeCell) getCell(x, y)).type.isTraversable();
+    }
+
+    /**
+     * À appeler quand takeCellSpace() d'une entité enregistrée change
+     * (rocher ou ennemi qui disparaît, portail qui s'ouvre ou se ferme).
+     */
+    public void setBlocking(Interactable entity, boolean blocks) {
+        List<ICMazeCell> cells = occupants.get(entity);
+        if (cells == null || cells.isEmpty()) return;
+        if (blocks ? !blocking.add(entity) : !blocking.remove(entity)) return;
+
+        int delta = blocks ? 1 : -1;
+        for (ICMazeCell cell : cells) {
+            blockers[cell.index] += delta;
+        }
+    }
+
+    /**
+     * Compte une entité dans la cellule où le moteur vient de la faire entrer
+     * (et comme bloquante si elle prend de la place).
+     */
+    private void entered(Interactable entity, ICMazeCell cell) {
+        List<ICMazeCell> cells = occupants.get(entity);
+        if (cells == null) {
+            cells = new ArrayList<>(2);
+            occupants.put(entity, cells);
+            arrivals.add(entity);
+        }
+        cells.add(cell);
+        occupancy.enter(cell.index);
+        if (blocking.contains(entity)) {
+            blockers[cell.index]++;
+        } else if (entity.takeCellSpace()) {
+            // Compte l'entité dans toutes ses cellules, celle-ci comprise
+            setBlocking(entity, true);
+        }
+    }
+
+    /**
+     * Décompte une entité de la cellule que le moteur vient de lui faire quitter.
+     */
+    private void left(Interactable entity, ICMazeCell cell) {
+        List<ICMazeCell> cells = occupants.get(entity);
+        if (cells == null || !cells.remove(cell)) return;
+
+        occupancy.leave(cell.index);
+        if (blocking.contains(entity)) blockers[cell.index]--;
+        // L'entrée reste dans occupants : un déplacement la remplit aussitôt
+        if (cells.isEmpty()) blocking.remove(entity);
+    }
+
+    /**
+     * Parcourt les cellules occupées du rectangle [minX, maxX] x [minY, maxY],
+     * sans toucher aux cellules vides. Le coût dépend des régions de l'index
+     * recouvertes par le rectangle et de leurs cellules occupées, pas de toute l'aire.
+     */
+    public void forEachOccupiedCell(int minX, int minY, int maxX, int maxY, BitMaze.CellConsumer consumer) {
+        occupancy.forEach(minX, minY, maxX, maxY, consumer);
+    }
+
+    /**
+     * Parcourt les entités présentes dans au moins une cellule, dans leur ordre
+     * d'arrivée, et oublie celles qui ont quitté toutes leurs cellules. À appeler
+     * entre deux mises à jour, jamais au milieu d'un déplacement.
+     */
+    public void forEachOccupant(Consumer<Interactable> action) {
+        int kept = 0;
+        for (int i = 0; i < arrivals.size(); ++i) {
+            Interactable entity = arrivals.get(i);
+            if (occupants.get(entity).isEmpty()) {
+                occupants.remove(entity);
+                continue;
             }
+            arrivals.set(kept++, entity);
+            action.accept(entity);
         }
+        arrivals.subList(kept, arrivals.size()).clear();
+    }
+
+    /**
+     * @return le nombre d'entités dans la cellule
+     */
+    public int occupantCount(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return 0;
+        return occupancy.count(x + y * getWidth());
+    }
+
+    /**
+     * Marque la cellule comme occupée (ou libérée) par un rocher, qu'il soit
+     * dans la couche statique ou déjà promu en acteur.
+     */
+    public void setRock(int x, int y, boolean rock) {
+        ((ICMazeCell) getCell(x, y)).rock = rock;
     }
 
     public MazeCellType getCellType(DiscreteCoordinates coords) {
@@ -70,10 +258,14 @@ public class ICMazeBehavior extends AreaBehavior {
     public class ICMazeCell extends Cell {
 
         private final MazeCellType type;
+        private final int index;
+        // Rocher sur la cellule : elle bloque même sans acteur
+        private boolean rock;
 
         public ICMazeCell(int x, int y, MazeCellType type) {
             super(x, y);
             this.type = type;
+            this.index = x + y * getWidth();
         }
 
         @Override
@@ -81,11 +273,23 @@ public class ICMazeBehavior extends AreaBehavior {
             // 1) terrain must be traversable
             if (!type.isTraversable()) return false;
 
-            // 2) no other occupant that takes cell space
-            for (Interactable occupant : entities) {
-                if (occupant.takeCellSpace() && entity.takeCellSpace()) return false;
-            }
-            return true;
+            // 2) un rocher bloque tout, projectiles compris, sauf l'acteur Rock qui le remplace
+            if (rock && !(entity instanceof Rock)) return false;
+
+            // 3) no other occupant that takes cell space (compteur tenu par enter / leave / setBlocking)
+            return !entity.takeCellSpace() || blockers[index] == 0;
+        }
+
+        @Override
+        protected void enter(Interactable entity) {
+            super.enter(entity);
+            entered(entity, this);
+        }
+
+        @Override
+        protected void leave(Interactable entity) {
+            super.leave(entity);
+            left(entity, this);
         }
 
         @Override
@@ -95,7 +299,7 @@ public class ICMazeBehavior extends AreaBehavior {
 
         @Override
         public boolean takeCellSpace() {
-            return !type.isTraversable();
+            return !type.isTraversable() || rock;
         }
 
         @Override
@@ -110,7 +314,7 @@ public class ICMazeBehavior extends AreaBehavior {
 
         @Override
         public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-            ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
+            InteractionTable.accept(v, this, isCellInteraction);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ch.epfl.cs107.icmaze.actor.collectable;
 
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
@@ -18,6 +19,7 @@ public abstract class ICMazeEquipment extends ICMazeCollectable {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
         sprite.draw(canvas);
     }
 }
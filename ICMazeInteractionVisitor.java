@@ -1,9 +1,12 @@
 package ch.epfl.cs107.icmaze.handler;
 
+import ch.epfl.cs107.icmaze.actor.Boss;
+import ch.epfl.cs107.icmaze.actor.FireProjectile;
 import ch.epfl.cs107.icmaze.actor.ICMazePlayer;
 import ch.epfl.cs107.icmaze.actor.LogMonster;
 import ch.epfl.cs107.icmaze.actor.Portal;
 import ch.epfl.cs107.icmaze.actor.Rock;
+import ch.epfl.cs107.icmaze.actor.WaterProjectile;
 import ch.epfl.cs107.icmaze.actor.collectable.Heart;
 import ch.epfl.cs107.icmaze.actor.collectable.Key;
 import ch.epfl.cs107.icmaze.actor.collectable.Pickaxe;
@@ -21,4 +24,7 @@ public interface ICMazeInteractionVisitor extends AreaInteractionVisitor {
     default void interactWith(Portal portal, boolean isCellInteraction) {}
     default void interactWith(Rock rock, boolean isCellInteraction) {}
     default void interactWith(LogMonster logMonster, boolean isCellInteraction) {}
+    default void interactWith(Boss boss, boolean isCellInteraction) {}
+    default void interactWith(WaterProjectile projectile, boolean isCellInteraction) {}
+    default void interactWith(FireProjectile projectile, boolean isCellInteraction) {}
 }
@@ -5,7 +5,11 @@ import ch.epfl.cs107.icmaze.KeyBindings.PlayerKeyBindings;
 import ch.epfl.cs107.icmaze.actor.collectable.Heart;
 import ch.epfl.cs107.icmaze.actor.collectable.Key;
 import ch.epfl.cs107.icmaze.actor.collectable.Pickaxe;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.icmaze.profiling.TickProfiler;
 
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.actor.Interactor;
@@ -57,7 +61,7 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
         baseAnimation = new OrientedAnimation(
                 "icmaze/player",
                 BASE_ANIMATION_DURATION,
-                this,
+                renderAnchor(),
                 new Vector(0f,0f),
                 new Orientation[]{Orientation.DOWN, Orientation.RIGHT, Orientation.UP, Orientation.LEFT},
                 4, 1, 2, 16, 32, true
@@ -67,7 +71,7 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
         pickaxeAnimation = new OrientedAnimation(
                 "icmaze/player.pickaxe",
                 PICKAXE_ANIMATION_DURATION,
-                this,
+                renderAnchor(),
                 new Vector(-0.5f, 0f),
                 new Orientation[]{Orientation.DOWN, Orientation.UP, Orientation.RIGHT, Orientation.LEFT},
                 4, 2, 2, 32, 32
@@ -78,6 +82,11 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
     public void update(float deltaTime) {
         super.update(deltaTime);
 
+        // Les acteurs de l'aire restent pleinement actifs autour du joueur
+        if (getOwnerArea() instanceof ICMazeArea area) {
+            area.getActivityScheduler().setFocus(getCurrentMainCellCoordinates());
+        }
+
         handleInteractionState();
         handleAttackState();
 
@@ -112,6 +121,11 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
             state = PlayerState.ATTACKING_WITH_PICKAXE;
             pickaxeAnimation.reset();
             hasAttacked = false; // Nouvelle attaque commence
+
+            // Le rocher visé devient un acteur, frappé dès la frame suivante
+            if (getOwnerArea() instanceof ICMazeArea area) {
+                area.promoteRock(getCurrentMainCellCoordinates().jump(getOrientation().toVector()));
+            }
         }
     }
 
@@ -169,6 +183,8 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         if (state == PlayerState.ATTACKING_WITH_PICKAXE)
             pickaxeAnimation.draw(canvas);
         else
@@ -206,9 +222,7 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        if (v instanceof ICMazeInteractionVisitor visitor) {
-            visitor.interactWith(this, isCellInteraction);
-        }
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 
     @Override
@@ -222,12 +236,14 @@ public class ICMazePlayer extends ICMazeActor implements Interactor {
     }
 
     public void interactWith(Interactable other) {
-        other.acceptInteraction(handler, false);
+        InteractionTable.interact(handler, other, false);
     }
 
     @Override
     public void interactWith(Interactable other, boolean isCellInteraction) {
-        other.acceptInteraction(handler, isCellInteraction);
+        ActorMetrics.interaction(this);
+        TickProfiler.mark(TickProfiler.Phase.INTERACTION);
+        InteractionTable.interact(handler, other, isCellInteraction);
     }
 
     @Override
@@ -0,0 +1,144 @@
+package ch.epfl.cs107.icmaze.handler;
+
+import ch.epfl.cs107.icmaze.actor.Boss;
+import ch.epfl.cs107.icmaze.actor.FireProjectile;
+import ch.epfl.cs107.icmaze.actor.ICMazePlayer;
+import ch.epfl.cs107.icmaze.actor.LogMonster;
+import ch.epfl.cs107.icmaze.actor.Portal;
+import ch.epfl.cs107.icmaze.actor.Rock;
+import ch.epfl.cs107.icmaze.actor.WaterProjectile;
+import ch.epfl.cs107.icmaze.actor.collectable.Heart;
+import ch.epfl.cs107.icmaze.actor.collectable.Key;
+import ch.epfl.cs107.icmaze.actor.collectable.Pickaxe;
+import ch.epfl.cs107.icmaze.area.ICMazeBehavior;
+import ch.epfl.cs107.play.areagame.actor.Interactable;
+import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
+
+import java.lang.reflect.Method;
+
+import static ch.epfl.cs107.icmaze.handler.InteractionType.*;
+
+/**
+ * Aiguillage des interactions d'ICMaze.
+ * <p>
+ * Le type d'un interactable est résolu une fois par classe (ClassValue), puis la
+ * table du visiteur de l'interacteur écarte les paires qui n'ont rien à se dire
+ * avant tout appel. Cette table n'est pas écrite à la main : elle est déduite, une
+ * fois par classe de visiteur, des méthodes interactWith que la classe redéfinit
+ * (les autres sont les méthodes vides par défaut d'ICMazeInteractionVisitor), avec
+ * la même résolution de type que l'aiguillage. Un nouveau traitement est donc pris
+ * en compte sans autre modification. Les paires restantes sont aiguillées par un
+ * switch sur l'indice du type vers la méthode du visiteur correspondante, au lieu
+ * d'un appel à acceptInteraction sur chaque interactable.
+ */
+public final class InteractionTable {
+
+    private static final ClassValue<InteractionType> TYPES = new ClassValue<>() {
+        @Override
+        protected InteractionType computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    // Types pour lesquels chaque classe de visiteur a un traitement, indexés par ordinal
+    private static final ClassValue<boolean[]> HANDLED = new ClassValue<>() {
+        @Override
+        protected boolean[] computeValue(Class<?> type) {
+            return handled(type);
+        }
+    };
+
+    private InteractionTable() {}
+
+    /**
+     * Relève les méthodes interactWith(type, boolean) déclarées par la classe du
+     * visiteur et ses superclasses.
+     */
+    private static boolean[] handled(Class<?> visitor) {
+        boolean[] handled = new boolean[InteractionType.COUNT];
+        for (Class<?> c = visitor; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                Class<?>[] parameters = method.getParameterTypes();
+                if (!method.getName().equals("interactWith") || method.isBridge() || parameters.length != 2
+                        || parameters[1] != boolean.class) continue;
+                InteractionType type = resolve(parameters[0]);
+                if (type != null) handled[type.ordinal()] = true;
+            }
+        }
+        return handled;
+    }
+
+    private static InteractionType resolve(Class<?> type) {
+        if (ICMazePlayer.class.isAssignableFrom(type)) return PLAYER;
+        if (LogMonster.class.isAssignableFrom(type)) return LOG_MONSTER;
+        if (Boss.class.isAssignableFrom(type)) return BOSS;
+        if (WaterProjectile.class.isAssignableFrom(type)) return WATER_PROJECTILE;
+        if (FireProjectile.class.isAssignableFrom(type)) return FIRE_PROJECTILE;
+        if (Rock.class.isAssignableFrom(type)) return ROCK;
+        if (Portal.class.isAssignableFrom(type)) return PORTAL;
+        if (Heart.class.isAssignableFrom(type)) return HEART;
+        if (Pickaxe.class.isAssignableFrom(type)) return PICKAXE;
+        if (Key.class.isAssignableFrom(type)) return KEY;
+        if (ICMazeBehavior.ICMazeCell.class.isAssignableFrom(type)) return CELL;
+        return null;
+    }
+
+    /**
+     * @return le type de l'interactable, ou null s'il n'appartient pas à ICMaze
+     */
+    public static InteractionType typeOf(Interactable interactable) {
+        return TYPES.get(interactable.getClass());
+    }
+
+    /**
+     * @return vrai si le visiteur a un traitement pour les interactables du type donné
+     */
+    public static boolean canInteract(ICMazeInteractionVisitor visitor, InteractionType other) {
+        return HANDLED.get(visitor.getClass())[other.ordinal()];
+    }
+
+    /**
+     * Interaction demandée par un interacteur d'ICMaze : écartée si son visiteur n'a
+     * pas de traitement pour ce type, sinon transmise au visiteur.
+     */
+    public static void interact(ICMazeInteractionVisitor visitor, Interactable other, boolean isCellInteraction) {
+        InteractionType type = typeOf(other);
+        if (type == null) {
+            // Interactable étranger au jeu : il choisit lui-même sa méthode
+            other.acceptInteraction(visitor, isCellInteraction);
+            return;
+        }
+        if (HANDLED.get(visitor.getClass())[type.ordinal()]) {
+            dispatch(type, visitor, other, isCellInteraction);
+        }
+    }
+
+    /**
+     * Implémentation commune de acceptInteraction pour les interactables d'ICMaze.
+     */
+    public static void accept(AreaInteractionVisitor v, Interactable self, boolean isCellInteraction) {
+        InteractionType type = typeOf(self);
+        if (type != null && v instanceof ICMazeInteractionVisitor visitor) {
+            dispatch(type, visitor, self, isCellInteraction);
+        } else {
+            v.interactWith(self, isCellInteraction);
+        }
+    }
+
+    private static void dispatch(InteractionType type, ICMazeInteractionVisitor v,
+                                 Interactable other, boolean isCellInteraction) {
+        switch (type) {
+            case CELL -> v.interactWith((ICMazeBehavior.ICMazeCell) other, isCellInteraction);
+            case PLAYER -> v.interactWith((ICMazePlayer) other, isCellInteraction);
+            case HEART -> v.interactWith((Heart) other, isCellInteraction);
+            case PICKAXE -> v.interactWith((Pickaxe) other, isCellInteraction);
+            case KEY -> v.interactWith((Key) other, isCellInteraction);
+            case PORTAL -> v.interactWith((Portal) other, isCellInteraction);
+            case ROCK -> v.interactWith((Rock) other, isCellInteraction);
+            case LOG_MONSTER -> v.interactWith((LogMonster) other, isCellInteraction);
+            case BOSS -> v.interactWith((Boss) other, isCellInteraction);
+            case WATER_PROJECTILE -> v.interactWith((WaterProjectile) other, isCellInteraction);
+            case FIRE_PROJECTILE -> v.interactWith((FireProjectile) other, isCellInteraction);
+        }
+    }
+}
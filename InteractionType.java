@@ -0,0 +1,20 @@
+package ch.epfl.cs107.icmaze.handler;
+
+/**
+ * Types d'interactables d'ICMaze ; l'ordinal sert d'indice dans la table d'interactions.
+ */
+public enum InteractionType {
+    CELL,
+    PLAYER,
+    HEART,
+    PICKAXE,
+    KEY,
+    PORTAL,
+    ROCK,
+    LOG_MONSTER,
+    BOSS,
+    WATER_PROJECTILE,
+    FIRE_PROJECTILE;
+
+    static final int COUNT = values().length;
+}
@@ -0,0 +1,65 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Random;
+
+/**
+ * Depth-first "recursive backtracker" run on an explicit stack.
+ * Produces long winding corridors with few branches.
+ */
+public final class IterativeBacktracker extends AbstractMazeAlgorithm {
+
+    private static final int[] DI = {0, 1, 0, -1};
+    private static final int[] DJ = {1, 0, -1, 0};
+
+    @Override
+    public String getName() {
+        return "backtracker";
+    }
+
+    @Override
+    protected BitMaze carve(int width, int height, int difficulty, Random rng) {
+        BitMaze maze = solid(width, height);
+        int cw = latticeWidth(width);
+        int ch = latticeHeight(height);
+        if (cw == 0 || ch == 0) return maze;
+
+        boolean[] visited = new boolean[cw * ch];
+        int[] stack = new int[cw * ch];
+        int[] candidates = new int[4];
+        int top = 0;
+
+        int start = rng.nextInt(cw * ch);
+        visited[start] = true;
+        openCell(maze, start % cw, start / cw);
+        stack[top++] = start;
+
+        while (top > 0) {
+            int current = stack[top - 1];
+            int i = current % cw;
+            int j = current / cw;
+
+            int count = 0;
+            for (int d = 0; d < 4; ++d) {
+                int ni = i + DI[d];
+                int nj = j + DJ[d];
+                if (ni < 0 || nj < 0 || ni >= cw || nj >= ch) continue;
+                if (!visited[ni + nj * cw]) candidates[count++] = d;
+            }
+
+            if (count == 0) {
+                top--;
+                continue;
+            }
+
+            int d = candidates[rng.nextInt(count)];
+            int next = (i + DI[d]) + (j + DJ[d]) * cw;
+            visited[next] = true;
+            openWall(maze, i, j, DI[d], DJ[d]);
+            openCell(maze, i + DI[d], j + DJ[d]);
+            stack[top++] = next;
+        }
+        return maze;
+    }
+}
@@ -6,7 +6,8 @@ import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.window.Canvas;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
 
 public class Key extends ICMazeEquipment {
 
@@ -25,10 +26,11 @@ public class Key extends ICMazeEquipment {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
         sprite.draw(canvas);
     }
 
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 }
@@ -0,0 +1,87 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Random;
+
+/**
+ * Randomized Kruskal: walls between lattice cells are removed in random order
+ * whenever they separate two different components, tracked with a union-find
+ * (path halving, union by size).
+ */
+public final class KruskalAlgorithm extends AbstractMazeAlgorithm {
+
+    @Override
+    public String getName() {
+        return "kruskal";
+    }
+
+    @Override
+    protected BitMaze carve(int width, int height, int difficulty, Random rng) {
+        BitMaze maze = solid(width, height);
+        int cw = latticeWidth(width);
+        int ch = latticeHeight(height);
+        int cells = cw * ch;
+        if (cells == 0) return maze;
+
+        for (int j = 0; j < ch; ++j) {
+            for (int i = 0; i < cw; ++i) {
+                openCell(maze, i, j);
+            }
+        }
+
+        // Edge e = 2 * cell + direction, direction 0 = right, 1 = up
+        int[] edges = new int[2 * cells];
+        int edgeCount = 0;
+        for (int cell = 0; cell < cells; ++cell) {
+            if (cell % cw < cw - 1) edges[edgeCount++] = 2 * cell;
+            if (cell / cw < ch - 1) edges[edgeCount++] = 2 * cell + 1;
+        }
+
+        // Fisher-Yates shuffle
+        for (int k = edgeCount - 1; k > 0; --k) {
+            int r = rng.nextInt(k + 1);
+            int tmp = edges[k];
+            edges[k] = edges[r];
+            edges[r] = tmp;
+        }
+
+        int[] parent = new int[cells];
+        int[] size = new int[cells];
+        for (int cell = 0; cell < cells; ++cell) {
+            parent[cell] = cell;
+            size[cell] = 1;
+        }
+
+        int components = cells;
+        for (int k = 0; k < edgeCount && components > 1; ++k) {
+            int cell = edges[k] >>> 1;
+            boolean up = (edges[k] & 1) != 0;
+            int other = up ? cell + cw : cell + 1;
+
+            int a = find(parent, cell);
+            int b = find(parent, other);
+            if (a == b) continue;
+
+            if (size[a] < size[b]) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            parent[b] = a;
+            size[a] += size[b];
+            components--;
+
+            openWall(maze, cell % cw, cell / cw, up ? 0 : 1, up ? 1 : 0);
+        }
+        return maze;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,82 @@
+package ch.epfl.cs107.icmaze.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds, in the spirit of
+ * HdrHistogram: values below 128 are exact, larger values keep 7 significant
+ * bits, so any recorded value is reported within 2% whatever its magnitude.
+ *
+ * Recording is O(1) and never allocates; the whole long range fits in
+ * SUB_BUCKETS + (64 - SIGNIFICANT_BITS) * SUB_BUCKETS / 2 = 128 + 57 * 64 = 3776 buckets.
+ */
+public final class LatencyHistogram {
+
+    private static final int SIGNIFICANT_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SIGNIFICANT_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (64 - SIGNIFICANT_BITS) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+    private long sum;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the smallest recorded value such that percentile % of the values are at most
+     * that value (up to the bucket precision), 0 if empty
+     */
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestValueIn(i), max);
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+        sum = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SIGNIFICANT_BITS + 1;
+        int top = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + (top - HALF);
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long top = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
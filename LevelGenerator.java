@@ -1,5 +1,6 @@
 package ch.epfl.cs107.icmaze;
 
+import ch.epfl.cs107.icmaze.area.AreaPlan;
 import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.area.maps.BossArea;
 import ch.epfl.cs107.icmaze.area.maps.LargeArea;
@@ -9,9 +10,13 @@ import ch.epfl.cs107.icmaze.area.maps.Spawn;
 import ch.epfl.cs107.icmaze.actor.Portal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Générateur de niveaux procéduraux pour ICMaze.
@@ -19,6 +24,12 @@ import java.util.Set;
  */
 public final class LevelGenerator {
 
+    /**
+     * Nombre d'aires (Spawn compris) dont le plan est calculé dès la génération du niveau.
+     * Les suivantes sont préparées à l'approche du joueur (voir prepareAsync).
+     */
+    public static final int PREPARED_AREAS = 3;
+
     private LevelGenerator() {
         // Classe utilitaire, pas d'instanciation
     }
@@ -77,16 +88,31 @@ public final class LevelGenerator {
     }
 
     /**
-     * Génère un niveau linéaire de longueur donnée.
+     * Génère un niveau linéaire de longueur donnée, à partir d'une graine quelconque.
      *
      * @param length Nombre d'aires labyrinthiques (hors Spawn et Boss)
      * @return Tableau d'aires dans l'ordre (Spawn, aires générées, Boss)
      */
     public static ICMazeArea[] generateLine(int length) {
+        return generateLine(length, RandomGenerator.fromClock());
+    }
+
+    /**
+     * Génère un niveau linéaire de longueur donnée.
+     * Le même générateur (même graine) redonne exactement le même niveau :
+     * le tracé utilise le flux "layout" et chaque aire reçoit son propre flux "area"/index.
+     *
+     * @param length Nombre d'aires labyrinthiques (hors Spawn et Boss)
+     * @param random Générateur aléatoire du niveau
+     * @return Tableau d'aires dans l'ordre (Spawn, aires générées, Boss)
+     */
+    public static ICMazeArea[] generateLine(int length, RandomGenerator random) {
         if (length <= 0) {
             throw new IllegalArgumentException("Length must be > 0");
         }
 
+        Random layout = random.split("layout").random();
+
         List<ICMazeArea> areas = new ArrayList<>();
         Set<Position> occupiedPositions = new HashSet<>();
 
@@ -105,14 +131,6 @@ public final class LevelGenerator {
             // Calculer la progression
             double progress = (double) (i + 1) / length;
 
-            // Calculer la difficulté
-            int difficulty = switch ((int) (progress * 4)) {
-                case 0 -> Difficulty.EASY;
-                case 1 -> Difficulty.MEDIUM;
-                case 2 -> Difficulty.HARD;
-                default -> Difficulty.HARDEST;
-            };
-
             // Choisir une direction libre
             Direction chosenDirection;
             Position nextPos;
@@ -128,7 +146,7 @@ public final class LevelGenerator {
                 List<Direction> availableDirections = new ArrayList<>(List.of(Direction.values()));
 
                 while (!availableDirections.isEmpty() && chosenDirection == null) {
-                    int randomIndex = RandomGenerator.rng.nextInt(availableDirections.size());
+                    int randomIndex = layout.nextInt(availableDirections.size());
                     Direction testDir = availableDirections.get(randomIndex);
 
                     Position testPos = new Position(
@@ -153,7 +171,10 @@ public final class LevelGenerator {
             }
 
             // Créer la nouvelle aire selon la progression
-            ICMazeArea newArea = createAreaByProgress(progress, difficulty);
+            ICMazeArea newArea = createAreaByProgress(progress, layout);
+
+            // Titre unique : les portails désignent leur destination par son titre
+            newArea.setTitle(newArea.getTitle() + "-" + (i + 1));
 
             // Définir quelle clé cette nouvelle aire doit contenir
             // Cette clé servira à ouvrir le portail de newArea vers l'aire suivante
@@ -191,15 +212,70 @@ public final class LevelGenerator {
         Direction finalDirection = Direction.EAST;
         connectAreas(previousArea, bossArea, finalDirection, length);
 
+        // Chaque aire tire ses labyrinthes et placements de son propre flux
+        for (int index = 0; index < areas.size(); ++index) {
+            areas.get(index).setRandomGenerator(random.split("area").split(index));
+        }
+
+        // Calculer en parallèle les plans des premières aires ; les autres attendront le joueur
+        ICMazeArea[] result = areas.toArray(new ICMazeArea[0]);
+        prepareAll(Arrays.copyOf(result, Math.min(result.length, PREPARED_AREAS)));
+
         // Retourner le tableau d'aires
-        return areas.toArray(new ICMazeArea[0]);
+        return result;
+    }
+
+    /**
+     * Phase de génération pure : calcule le plan de chaque aire sur le pool fork-join.
+     * Chaque aire tire de ses propres flux aléatoires, les plans sont donc
+     * indépendants et identiques à ceux d'une génération séquentielle.
+     * Il ne reste ensuite à begin() que l'enregistrement des acteurs.
+     *
+     * @param areas Aires à préparer
+     */
+    public static void prepareAll(ICMazeArea[] areas) {
+        long start = System.nanoTime();
+
+        List<ForkJoinTask<AreaPlan>> tasks = new ArrayList<>(areas.length);
+        for (ICMazeArea area : areas) {
+            tasks.add(ForkJoinPool.commonPool().submit(area::prepare));
+        }
+
+        for (int i = 0; i < areas.length; ++i) {
+            AreaPlan plan = tasks.get(i).join();
+            if (plan != null) {
+                System.out.printf("LevelGenerator: %s #%d generated in %.2f ms%n",
+                        areas[i].getTitle(), i, plan.getGenerationNanos() / 1e6);
+            }
+        }
+
+        System.out.printf("LevelGenerator: %d areas prepared in %.2f ms%n",
+                areas.length, (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Lance en fond le calcul du plan d'une aire, sans attendre.
+     * Sans effet si le plan est déjà prêt ; si le joueur entre dans l'aire avant
+     * la fin du calcul, begin() attend simplement le plan en cours.
+     *
+     * @param area Aire à préparer
+     */
+    public static void prepareAsync(ICMazeArea area) {
+        if (area.isPrepared()) return;
+        ForkJoinPool.commonPool().execute(() -> {
+            AreaPlan plan = area.prepare();
+            if (plan != null) {
+                System.out.printf("LevelGenerator: %s generated in %.2f ms%n",
+                        area.getTitle(), plan.getGenerationNanos() / 1e6);
+            }
+        });
     }
 
     /**
-     * Crée une aire selon la progression du niveau.
+     * Crée une aire selon la progression du niveau ; chaque type d'aire a sa propre difficulté.
      */
-    private static ICMazeArea createAreaByProgress(double progress, int difficulty) {
-        double r = RandomGenerator.rng.nextDouble();
+    private static ICMazeArea createAreaByProgress(double progress, Random layout) {
+        double r = layout.nextDouble();
 
         if (r < progress * progress) {
             return new LargeArea();
@@ -0,0 +1,16 @@
+package ch.epfl.cs107.icmaze;
+
+/**
+ * Paramètres de génération d'un niveau.
+ * Un niveau pré-généré avec d'autres paramètres est jeté.
+ *
+ * @param length Nombre d'aires labyrinthiques (hors Spawn et Boss)
+ */
+public record LevelSettings(int length) {
+
+    public LevelSettings {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be > 0");
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package ch.epfl.cs107.icmaze.actor;
 
 import ch.epfl.cs107.icmaze.Difficulty;
-import ch.epfl.cs107.icmaze.RandomGenerator;
 import ch.epfl.cs107.icmaze.actor.util.Cooldown;
+import ch.epfl.cs107.icmaze.actor.util.FramePlayer;
+import ch.epfl.cs107.icmaze.actor.util.SpriteSheets;
+import ch.epfl.cs107.icmaze.area.ActivityScheduler;
 import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
-import ch.epfl.cs107.play.engine.actor.OrientedAnimation;
+import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.window.Canvas;
 
-import java.util.Queue;
+import java.util.Random;
 
 /**
  * Monstre tronc (LogMonster) - ennemi capable de naviguer dans les labyrinthes.
@@ -34,9 +38,18 @@ public class LogMonster extends PathFinderEnemy {
     private static final int DAMAGE_TO_PLAYER = 1;
     private static final int ANIMATION_DURATION = 30;
 
-    private final OrientedAnimation sleepingAnimation;
-    private final OrientedAnimation randomAnimation;
-    private final OrientedAnimation targetAnimation;
+    private static final State[] STATES = State.values();
+    private static final Vector ANIMATION_ANCHOR = new Vector(-0.5f, 0.25f);
+    private static final Orientation[] SLEEP_ORDER = {
+            Orientation.DOWN, Orientation.LEFT, Orientation.UP, Orientation.RIGHT
+    };
+    private static final Orientation[] MOVE_ORDER = {
+            Orientation.DOWN, Orientation.UP, Orientation.RIGHT, Orientation.LEFT
+    };
+
+    // Lecture des animations, indexée par état : seuls l'image courante et le compteur
+    // appartiennent au monstre, les images elles-mêmes sont communes à tous
+    private final FramePlayer[] animations = new FramePlayer[STATES.length];
 
     private final Cooldown reorientCooldown = new Cooldown(REORIENT_COOLDOWN);
     private final Cooldown transitionCooldown = new Cooldown(STATE_COOLDOWN);
@@ -46,48 +59,46 @@ public class LogMonster extends PathFinderEnemy {
 
     private final ICMazeInteractionVisitor handler = new LogMonsterInteractionHandler();
 
+    // Flux aléatoire propre à ce monstre, dérivé de la graine de l'aire
+    private final Random random;
+
+    // Cadence réduite loin du joueur ou en sommeil (null hors d'une ICMazeArea)
+    private final ActivityScheduler.Gate activity;
+
     public LogMonster(Area area, Orientation orientation, DiscreteCoordinates position, State initialState) {
         super(area, orientation, position, MAX_HP, HIT_COOLDOWN_SECONDS, PERCEPTION_RADIUS);
         this.state = initialState;
+        this.random = (area instanceof ICMazeArea mazeArea) ? mazeArea.randomStream("LogMonster") : new Random();
+        this.activity = (area instanceof ICMazeArea mazeArea) ? mazeArea.getActivityScheduler().newGate() : null;
+
+        // Cooldowns comptés par les minuteries de l'aire ; leur échéance réveille le monstre
+        if (area instanceof ICMazeArea mazeArea) {
+            reorientCooldown.bind(mazeArea.getTimers());
+            transitionCooldown.bind(mazeArea.getTimers());
+            reorientCooldown.onReady(activity::wake);
+            transitionCooldown.onReady(activity::wake);
+        }
+    }
 
-        Orientation[] sleepOrder = new Orientation[]{
-                Orientation.DOWN, Orientation.LEFT, Orientation.UP, Orientation.RIGHT
-        };
-        sleepingAnimation = new OrientedAnimation(
-                "icmaze/logMonster.sleeping",
-                ANIMATION_DURATION / 3,
-                this,
-                new Vector(-0.5f, 0.25f),
-                sleepOrder,
-                1, 2, 2, 32, 32,
-                true
-        );
-
-        Orientation[] randomOrder = new Orientation[]{
-                Orientation.DOWN, Orientation.UP, Orientation.RIGHT, Orientation.LEFT
-        };
-        randomAnimation = new OrientedAnimation(
-                "icmaze/logMonster_random",
-                ANIMATION_DURATION / 3,
-                this,
-                new Vector(-0.5f, 0.25f),
-                randomOrder,
-                4, 2, 2, 32, 32,
-                true
-        );
-
-        Orientation[] targetOrder = new Orientation[]{
-                Orientation.DOWN, Orientation.UP, Orientation.RIGHT, Orientation.LEFT
-        };
-        targetAnimation = new OrientedAnimation(
-                "icmaze/logMonster",
-                ANIMATION_DURATION / 3,
-                this,
-                new Vector(-0.5f, 0.25f),
-                targetOrder,
-                4, 2, 2, 32, 32,
-                true
-        );
+    /**
+     * Lecture de l'animation de l'état donné, créée au premier appel ; les images
+     * sont partagées par tous les monstres (voir SpriteSheets)
+     */
+    private FramePlayer animation(State s) {
+        FramePlayer animation = animations[s.ordinal()];
+        if (animation == null) {
+            Sprite[][] sheet = switch (s) {
+                case SLEEPING -> SpriteSheets.oriented("icmaze/logMonster.sleeping", 1, 2, 2, 32, 32,
+                        ANIMATION_ANCHOR, SLEEP_ORDER);
+                case RANDOM -> SpriteSheets.oriented("icmaze/logMonster_random", 4, 2, 2, 32, 32,
+                        ANIMATION_ANCHOR, MOVE_ORDER);
+                case TARGET -> SpriteSheets.oriented("icmaze/logMonster", 4, 2, 2, 32, 32,
+                        ANIMATION_ANCHOR, MOVE_ORDER);
+            };
+            animation = new FramePlayer(sheet, ANIMATION_DURATION / 3, true);
+            animations[s.ordinal()] = animation;
+        }
+        return animation;
     }
 
     @Override
@@ -100,8 +111,27 @@ public class LogMonster extends PathFinderEnemy {
         return handler;
     }
 
+    @Override
+    protected boolean isPerceiving() {
+        // Un monstre endormi ignore le joueur : inutile de calculer son champ de vision
+        return state != State.SLEEPING && !isDead();
+    }
+
+    @Override
+    public void damage(int amount) {
+        super.damage(amount);
+        if (activity != null) activity.wake();
+    }
+
     @Override
     public void update(float deltaTime) {
+        // Au repos, le temps s'accumule et est rendu d'un bloc au prochain passage.
+        // Un déplacement ou une disparition en cours avance à chaque frame (ils comptent en frames).
+        if (activity != null && !isDead() && !isDisplacementOccurs()) {
+            if (!activity.admit(getCurrentMainCellCoordinates(), state == State.SLEEPING, deltaTime)) return;
+            deltaTime = activity.drain();
+        }
+
         super.update(deltaTime);
 
         if (isDead()) return;
@@ -129,7 +159,7 @@ public class LogMonster extends PathFinderEnemy {
 
         // 2. Transition d'état : vers RANDOM
         if (transitionCooldown.ready(deltaTime)) {
-            if (RandomGenerator.rng.nextDouble() < pTransition) {
+            if (random.nextDouble() < pTransition) {
                 state = State.RANDOM;
                 transitionCooldown.reset(); // ✅ RESET obligatoire
             }
@@ -142,7 +172,7 @@ public class LogMonster extends PathFinderEnemy {
     private void updateRandomState(float deltaTime, double pTransition) {
         // 1. Réorientation et déplacement aléatoire
         if (reorientCooldown.ready(deltaTime)) {
-            Orientation randomOrientation = Orientation.fromInt(RandomGenerator.rng.nextInt(4));
+            Orientation randomOrientation = Orientation.fromInt(random.nextInt(4));
             orientate(randomOrientation);
             move(DEFAULT_MOVE_FRAMES);
             reorientCooldown.reset();
@@ -150,7 +180,7 @@ public class LogMonster extends PathFinderEnemy {
 
         // 2. Transition d'état : vers TARGET si on a une cible
         if (transitionCooldown.ready(deltaTime)) {
-            if (targetPos != null && RandomGenerator.rng.nextDouble() < pTransition) {
+            if (targetPos != null && random.nextDouble() < pTransition) {
                 state = State.TARGET;
                 transitionCooldown.reset();
             }
@@ -179,7 +209,7 @@ public class LogMonster extends PathFinderEnemy {
 
         // 2. Transition d'état : vers SLEEPING
         if (transitionCooldown.ready(deltaTime)) {
-            if (RandomGenerator.rng.nextDouble() < (1.0 - pTransition)) {
+            if (random.nextDouble() < (1.0 - pTransition)) {
                 state = State.SLEEPING;
                 targetPos = null;  // Oublier la cible
                 transitionCooldown.reset(); // ✅ RESET obligatoire
@@ -208,43 +238,26 @@ public class LogMonster extends PathFinderEnemy {
             return null;
         }
 
-        Queue<Orientation> path = area.shortestPath(
-                getCurrentMainCellCoordinates(),
-                targetPos
-        );
-
-        if (path == null || path.isEmpty()) {
-            return null;
-        }
-
-        return path.poll();
+        // Carte de distances partagée : lecture en O(1), recalculée seulement si la cible bouge
+        return area.nextOrientationTowards(getCurrentMainCellCoordinates(), targetPos);
     }
 
     /**
      * Met à jour les animations selon l'état actuel
      */
     private void updateAnimations(float deltaTime) {
-        switch (state) {
-            case SLEEPING -> {
-                sleepingAnimation.update(deltaTime);
-                randomAnimation.reset();
-                targetAnimation.reset();
-            }
-            case RANDOM -> {
-                randomAnimation.update(deltaTime);
-                sleepingAnimation.reset();
-                targetAnimation.reset();
-            }
-            case TARGET -> {
-                targetAnimation.update(deltaTime);
-                sleepingAnimation.reset();
-                randomAnimation.reset();
+        animation(state).update(deltaTime);
+        for (State other : STATES) {
+            if (other != state && animations[other.ordinal()] != null) {
+                animations[other.ordinal()].reset();
             }
         }
     }
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         if (isDead()) {
             super.draw(canvas);
             return;
@@ -252,18 +265,12 @@ public class LogMonster extends PathFinderEnemy {
 
         health.draw(canvas);
 
-        switch (state) {
-            case SLEEPING -> sleepingAnimation.draw(canvas);
-            case RANDOM -> randomAnimation.draw(canvas);
-            case TARGET -> targetAnimation.draw(canvas);
-        }
+        animation(state).draw(canvas, renderAnchor(), getOrientation());
     }
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        if (v instanceof ICMazeInteractionVisitor visitor) {
-            visitor.interactWith(this, isCellInteraction);
-        }
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 
     private class LogMonsterInteractionHandler implements ICMazeInteractionVisitor {
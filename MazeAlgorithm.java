@@ -0,0 +1,37 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Random;
+
+/**
+ * Strategy for generating a rectangular maze.
+ *
+ * All algorithms produce a {@link BitMaze} whose border is made of walls.
+ * Perfect-maze algorithms carve corridors on the odd lattice (cells at odd
+ * coordinates, walls between them); recursive division instead splits open
+ * rooms and uses the difficulty as its minimal room size.
+ */
+public interface MazeAlgorithm {
+
+    /**
+     * @return a short human readable name, used in benchmark reports
+     */
+    String getName();
+
+    /**
+     * Generates a maze.
+     *
+     * @param width      (int): number of columns, > 0
+     * @param height     (int): number of rows, > 0
+     * @param difficulty (int): one of the {@link ch.epfl.cs107.icmaze.Difficulty} levels
+     * @param rng        (Random): source of randomness, never shared across threads
+     * @return the generated maze
+     */
+    BitMaze generate(int width, int height, int difficulty, Random rng);
+
+    /**
+     * @return the throughput of the last call to generate, in cells per second (0 before any call)
+     */
+    double getCellsPerSecond();
+}
@@ -0,0 +1,70 @@
+package ch.epfl.cs107.icmaze.bench;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.Difficulty;
+import ch.epfl.cs107.icmaze.Size;
+import ch.epfl.cs107.icmaze.maze.MazeAlgorithm;
+import ch.epfl.cs107.icmaze.maze.MazeAlgorithms;
+
+import java.util.Random;
+
+/**
+ * Compares the maze algorithms at the game sizes and at stress sizes.
+ *
+ * Each (algorithm, size) pair is warmed up, then measured over a fixed time
+ * budget; the report gives the mean time per maze, the throughput in cells
+ * per second and the proportion of walls (a rough measure of corridor density).
+ *
+ * Usage: java ch.epfl.cs107.icmaze.bench.MazeAlgorithmBenchmark [seed]
+ */
+public final class MazeAlgorithmBenchmark {
+
+    private static final int[] SIZES = {Size.SMALL, Size.MEDIUM, Size.LARGE, 256, 1024, 2048};
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    /** Consumes results so that the JIT cannot drop the generation */
+    private static long sink;
+
+    private MazeAlgorithmBenchmark() {}
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+
+        System.out.printf("%-20s %8s %14s %16s %8s%n", "algorithm", "size", "ms/maze", "cells/s", "walls");
+        for (MazeAlgorithm algorithm : MazeAlgorithms.ALL) {
+            for (int size : SIZES) {
+                run(algorithm, size, new Random(seed));
+            }
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void run(MazeAlgorithm algorithm, int size, Random rng) {
+        // Warmup
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            sink += algorithm.generate(size, size, Difficulty.HARDEST, rng).width();
+        }
+
+        // Measurement
+        long start = System.nanoTime();
+        long deadline = start + MEASURE_NANOS;
+        int iterations = 0;
+        long walls = 0;
+        BitMaze maze = null;
+        do {
+            maze = algorithm.generate(size, size, Difficulty.HARDEST, rng);
+            iterations++;
+        } while (System.nanoTime() < deadline);
+        long elapsed = System.nanoTime() - start;
+        walls = maze.wallCount();
+        sink += walls;
+
+        double nanosPerMaze = (double) elapsed / iterations;
+        double cellsPerSecond = (double) size * size * 1e9 / nanosPerMaze;
+        System.out.printf("%-20s %8d %14.4f %16.0f %7.1f%%%n",
+                algorithm.getName(), size, nanosPerMaze / 1e6, cellsPerSecond,
+                100.0 * walls / ((double) size * size));
+    }
+}
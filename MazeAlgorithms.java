@@ -0,0 +1,40 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.Difficulty;
+
+import java.util.List;
+
+/**
+ * Registry of the available maze algorithms and of the one used for each
+ * {@link ch.epfl.cs107.icmaze.Difficulty} level.
+ */
+public final class MazeAlgorithms {
+
+    public static final MazeAlgorithm RECURSIVE_DIVISION = new RecursiveDivision();
+    public static final MazeAlgorithm BACKTRACKER = new IterativeBacktracker();
+    public static final MazeAlgorithm KRUSKAL = new KruskalAlgorithm();
+    public static final MazeAlgorithm WILSON = new WilsonAlgorithm();
+    public static final MazeAlgorithm ELLER = new EllerAlgorithm();
+
+    /** Every algorithm, in the order used by the benchmark report */
+    public static final List<MazeAlgorithm> ALL =
+            List.of(RECURSIVE_DIVISION, BACKTRACKER, KRUSKAL, WILSON, ELLER);
+
+    private MazeAlgorithms() {}
+
+    /**
+     * Default algorithm of the areas for a difficulty level. A Difficulty value is
+     * the tightness of the room subdivision, so every level from EASIEST to
+     * HARDEST (all the values the areas use) keeps recursive division and its
+     * rooms. Only a value tighter than HARDEST, where no room is left, switches
+     * to the backtracker's long corridors. The perfect mazes of the other
+     * generators turn many more cells into rocks; an area that wants one passes
+     * it to its MazeArea constructor instead. Compare the generators with
+     * {@link ch.epfl.cs107.icmaze.bench.MazeAlgorithmBenchmark} before changing the mapping.
+     *
+     * @param difficulty (int): a Difficulty level (lower is harder)
+     */
+    public static MazeAlgorithm forDifficulty(int difficulty) {
+        return difficulty >= Difficulty.HARDEST ? RECURSIVE_DIVISION : BACKTRACKER;
+    }
+}
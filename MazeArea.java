@@ -0,0 +1,244 @@
+package ch.epfl.cs107.icmaze.area.maps;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.actor.LogMonster;
+import ch.epfl.cs107.icmaze.actor.collectable.Key;
+import ch.epfl.cs107.icmaze.area.AreaPlan;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.maze.MazeAlgorithm;
+import ch.epfl.cs107.icmaze.maze.MazeAlgorithms;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Aire labyrinthique commune à SmallArea, MediumArea et LargeArea.
+ * <p>
+ * La génération est coupée en deux : computePlan() calcule le labyrinthe et
+ * les placements sans toucher à l'aire (sûr hors du thread du jeu), puis
+ * createArea() se contente d'enregistrer les acteurs du plan.
+ * <p>
+ * Une aire éloignée du joueur peut être évincée : elle est remplacée par une
+ * coquille qui ne garde que ce qui a changé depuis la génération (rochers
+ * détruits, monstres vaincus, clé ramassée) et régénère le reste à partir de sa graine.
+ */
+public abstract class MazeArea extends ICMazeArea {
+
+    private final int difficulty;
+    private final MazeAlgorithm algorithm;
+    private final int monsterCount;
+    private final int keyTries;
+    private final int monsterTries;
+
+    // Ce qui a changé avant la dernière éviction (null pour une aire jamais évincée)
+    private Snapshot snapshot;
+
+    // Acteurs enregistrés depuis le plan, indexés comme dans le plan
+    private LogMonster[] spawnedMonsters;
+    private Key spawnedKey;
+
+    /**
+     * @param keyTries     nombre maximal de tirages pour placer la clé de sortie
+     * @param monsterTries nombre maximal de tirages pour placer les monstres
+     */
+    protected MazeArea(String gridName, int size, int difficulty, int monsterCount, int keyTries, int monsterTries) {
+        this(gridName, size, difficulty, MazeAlgorithms.forDifficulty(difficulty), monsterCount, keyTries, monsterTries);
+    }
+
+    /**
+     * @param algorithm    générateur du labyrinthe, à la place de celui de la difficulté
+     * @param keyTries     nombre maximal de tirages pour placer la clé de sortie
+     * @param monsterTries nombre maximal de tirages pour placer les monstres
+     */
+    protected MazeArea(String gridName, int size, int difficulty, MazeAlgorithm algorithm,
+                       int monsterCount, int keyTries, int monsterTries) {
+        super(gridName, size);
+        this.difficulty = difficulty;
+        this.algorithm = algorithm;
+        this.monsterCount = monsterCount;
+        this.keyTries = keyTries;
+        this.monsterTries = monsterTries;
+    }
+
+    @Override
+    protected final AreaPlan computePlan() {
+        long start = System.nanoTime();
+        int size = getSize();
+
+        // Générer le labyrinthe (0 = chemin, 1 = mur)
+        BitMaze maze = algorithm.generate(size, size, difficulty, randomStream("maze"));
+
+        // Positions d'entrée et de sortie
+        DiscreteCoordinates entry = getArrivalCoordinates(ICMazeArea.AreaPortals.W);
+        DiscreteCoordinates exit  = getArrivalCoordinates(ICMazeArea.AreaPortals.E);
+
+        // Placer des rochers
+        List<DiscreteCoordinates> rocks = new ArrayList<>();
+        for (int y = 1; y < size - 1; ++y) {
+            for (int x = 1; x < size - 1; ++x) {
+                if (maze.isWall(x, y)) {
+                    DiscreteCoordinates p = new DiscreteCoordinates(x, y);
+
+                    if (p.equals(entry) || p.equals(exit)) continue;
+                    if (isAdjacentTo(p, entry) || isAdjacentTo(p, exit)) continue;
+
+                    rocks.add(p);
+                }
+            }
+        }
+
+        List<DiscreteCoordinates> monsters = planMonsters(maze, entry, exit);
+        DiscreteCoordinates exitKey = planExitKey(maze, entry);
+
+        return new AreaPlan(maze, rocks, monsters, exitKey, System.nanoTime() - start);
+    }
+
+    @Override
+    protected void createArea() {
+        AreaPlan plan = prepare();
+
+        List<DiscreteCoordinates> rocks = plan.getRocks();
+        for (int i = 0; i < rocks.size(); ++i) {
+            if (snapshot != null && snapshot.destroyedRocks.get(i)) continue;
+            placeRock(rocks.get(i));
+        }
+
+        List<DiscreteCoordinates> monsters = plan.getMonsters();
+        spawnedMonsters = new LogMonster[monsters.size()];
+        for (int i = 0; i < monsters.size(); ++i) {
+            if (snapshot != null && snapshot.defeatedMonsters.get(i)) continue;
+            spawnedMonsters[i] = new LogMonster(this, Orientation.DOWN, monsters.get(i), LogMonster.State.RANDOM);
+            registerActor(spawnedMonsters[i]);
+        }
+
+        boolean keyCollected = snapshot != null && snapshot.keyCollected;
+        if (plan.getExitKey() != null && !keyCollected) {
+            spawnedKey = new Key(this, plan.getExitKey(), Orientation.DOWN, getExitKeyId());
+            registerActor(spawnedKey);
+        }
+    }
+
+    /**
+     * @return une nouvelle instance de la même aire, sans état
+     */
+    protected abstract MazeArea newInstance();
+
+    @Override
+    protected final ICMazeArea createShell() {
+        MazeArea shell = newInstance();
+        shell.snapshot = isMaterialised() ? takeSnapshot() : snapshot;
+        return shell;
+    }
+
+    /**
+     * Relève ce qui a changé depuis la génération, en indices du plan.
+     */
+    private Snapshot takeSnapshot() {
+        AreaPlan plan = prepare();
+        Snapshot next = new Snapshot();
+
+        List<DiscreteCoordinates> rocks = plan.getRocks();
+        for (int i = 0; i < rocks.size(); ++i) {
+            if (!hasRock(rocks.get(i))) next.destroyedRocks.set(i);
+        }
+
+        for (int i = 0; i < spawnedMonsters.length; ++i) {
+            if (spawnedMonsters[i] == null || spawnedMonsters[i].isDead()) next.defeatedMonsters.set(i);
+        }
+
+        next.keyCollected = (snapshot != null && snapshot.keyCollected)
+                || (spawnedKey != null && spawnedKey.isCollected());
+        return next;
+    }
+
+    /**
+     * Choisit la position de la clé de sortie, ou null si aucune clé n'est nécessaire
+     */
+    private DiscreteCoordinates planExitKey(BitMaze maze, DiscreteCoordinates entry) {
+        int keyId = getExitKeyId();
+
+        if (keyId == 0) {
+            System.out.println(getTitle() + ": No exit key required");
+            return null;
+        }
+
+        Random rng = randomStream("keys");
+        int size = getSize();
+
+        int tries = 0;
+        while (tries < keyTries) {
+            tries++;
+            int x = rng.nextInt(size - 2) + 1;
+            int y = rng.nextInt(size - 2) + 1;
+
+            // La clé doit être sur un chemin (0)
+            if (maze.isWall(x, y)) continue;
+
+            DiscreteCoordinates keyPos = new DiscreteCoordinates(x, y);
+
+            // Ne pas placer trop près de l'entrée
+            if (keyPos.equals(entry) || isAdjacentTo(keyPos, entry)) continue;
+
+            System.out.println(getTitle() + ": Placed exit key (ID=" + keyId + ") at " + keyPos);
+            return keyPos;
+        }
+
+        System.err.println(getTitle() + ": Failed to place exit key after " + tries + " tries!");
+        return null;
+    }
+
+    /**
+     * Choisit les positions des monstres, toutes distinctes
+     */
+    private List<DiscreteCoordinates> planMonsters(BitMaze maze, DiscreteCoordinates entry, DiscreteCoordinates exit) {
+        Random rng = randomStream("monsters");
+        int size = getSize();
+
+        Set<DiscreteCoordinates> taken = new HashSet<>();
+        List<DiscreteCoordinates> monsters = new ArrayList<>(monsterCount);
+        int tries = 0;
+
+        while (monsters.size() < monsterCount && tries < monsterTries) {
+            tries++;
+            int x = rng.nextInt(size - 2) + 1;
+            int y = rng.nextInt(size - 2) + 1;
+
+            // Placer uniquement sur les chemins
+            if (maze.isWall(x, y)) continue;
+
+            DiscreteCoordinates p = new DiscreteCoordinates(x, y);
+
+            // Ne pas bloquer l'entrée ou la sortie
+            if (p.equals(entry) || p.equals(exit)) continue;
+            if (isAdjacentTo(p, entry) || isAdjacentTo(p, exit)) continue;
+
+            // Une seule entité par cellule
+            if (taken.add(p)) monsters.add(p);
+        }
+
+        System.out.println(getTitle() + ": Spawned " + monsters.size() + "/" + monsterCount + " monsters (tries: " + tries + ")");
+        return monsters;
+    }
+
+    /**
+     * Vérifie si deux positions sont adjacentes (distance Manhattan = 1)
+     */
+    private static boolean isAdjacentTo(DiscreteCoordinates pos, DiscreteCoordinates target) {
+        return Math.abs(pos.x - target.x) + Math.abs(pos.y - target.y) == 1;
+    }
+
+    /**
+     * État compact d'une aire évincée : quelques bits par rocher et par monstre
+     */
+    private static final class Snapshot {
+        final BitSet destroyedRocks = new BitSet();
+        final BitSet defeatedMonsters = new BitSet();
+        boolean keyCollected;
+    }
+}
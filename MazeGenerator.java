@@ -1,5 +1,6 @@
 package ch.epfl.cs107.icmaze;
 
+import java.util.Arrays;
 import java.util.Random;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 
@@ -7,14 +8,13 @@ import ch.epfl.cs107.play.math.DiscreteCoordinates;
  * Utility class for generating rectangular mazes using the recursive division algorithm.
  * Complete implementation required by the exercise.
  *
- * The output is an int[height][width] array where:
+ * The output is either a packed {@link BitMaze} or an int[height][width] array where:
  *  - 0 = path
  *  - 1 = wall
  */
 public final class MazeGenerator {
     private static final int WALL = 1;
     private static final int PATH = 0;
-    private static final Random random = RandomGenerator.rng;
 
     private MazeGenerator(){}
 
@@ -54,15 +54,15 @@ public final class MazeGenerator {
     /**
      * Returns a random odd number in [1, max] (assuming max > 0).
      */
-    private static int randomOdd(int max) {
-        return 1 + 2 * random.nextInt((max + 1) / 2);
+    private static int randomOdd(Random rng, int max) {
+        return 1 + 2 * rng.nextInt((max + 1) / 2);
     }
 
     /**
      * Returns a random even number in [0, max] (assuming max >= 0).
      */
-    private static int randomEven(int max) {
-        return 2 * random.nextInt((max + 1) / 2);
+    private static int randomEven(Random rng, int max) {
+        return 2 * rng.nextInt((max + 1) / 2);
     }
 
     /**
@@ -72,85 +72,108 @@ public final class MazeGenerator {
      * difficulty: minimal region dimension to keep dividing (higher -> larger corridors)
      *
      * Returns an int[height][width] grid (row-major: grid[row][col]).
+     * Prefer {@link #createBitMaze(int, int, int)} for large mazes.
      */
     public static int[][] createMaze(int width, int height, int difficulty) {
-        if (width <= 0 || height <= 0) {
-            throw new IllegalArgumentException("width/height must be > 0");
-        }
-        // initialize all cells to PATH first
-        int[][] grid = new int[height][width];
-        for (int r = 0; r < height; ++r) {
-            for (int c = 0; c < width; ++c) {
-                grid[r][c] = PATH;
-            }
-        }
+        return createBitMaze(width, height, difficulty).toArray();
+    }
+
+    /**
+     * Create a maze using recursive division, packed into a {@link BitMaze}.
+     *
+     * The division runs on an explicit stack of regions instead of the call stack,
+     * so very large mazes (1024x1024 and more) cannot overflow it.
+     */
+    public static BitMaze createBitMaze(int width, int height, int difficulty) {
+        return createBitMaze(width, height, difficulty, RandomGenerator.fromClock().random());
+    }
+
+    /**
+     * Same as {@link #createBitMaze(int, int, int)} but draws from the given generator.
+     */
+    public static BitMaze createBitMaze(int width, int height, int difficulty, Random rng) {
+        BitMaze maze = new BitMaze(width, height);
 
         // surround perimeter with walls to avoid out-of-bounds passages
-        for (int x = 0; x < width; ++x) {
-            grid[0][x] = WALL;
-            grid[height - 1][x] = WALL;
-        }
-        for (int y = 0; y < height; ++y) {
-            grid[y][0] = WALL;
-            grid[y][width - 1] = WALL;
-        }
+        maze.setWallRow(0, 0, width);
+        maze.setWallRow(height - 1, 0, width);
+        maze.setWallColumn(0, 0, height);
+        maze.setWallColumn(width - 1, 0, height);
 
-        // Start recursive division on the inner area (1..width-2, 1..height-2)
-        divide(grid, 1, 1, width - 2, height - 2, difficulty);
+        // Start division on the inner area (1..width-2, 1..height-2)
+        divide(maze, rng, 1, 1, width - 2, height - 2, difficulty);
 
-        return grid;
+        return maze;
     }
 
     /**
-     * Recursive division:
-     * region defined by top-left (rx,ry) and size rw x rh (in cells).
+     * Recursive division with an explicit stack:
+     * each region is defined by top-left (rx,ry) and size rw x rh (in cells),
+     * stored as 4 consecutive ints. Regions are processed in the same order as
+     * the recursive version (top/left sub-region first).
      */
-    private static void divide(int[][] grid, int rx, int ry, int rw, int rh, int difficulty) {
-        // base case: stop if region too small to divide further
-        if (rw <= difficulty || rh <= difficulty) {
-            return;
-        }
+    private static void divide(BitMaze maze, Random rng, int startX, int startY, int startW, int startH, int difficulty) {
+        int[] stack = new int[4 * 64];
+        int top = 0;
+        stack[top++] = startX;
+        stack[top++] = startY;
+        stack[top++] = startW;
+        stack[top++] = startH;
+
+        while (top > 0) {
+            int rh = stack[--top];
+            int rw = stack[--top];
+            int ry = stack[--top];
+            int rx = stack[--top];
+
+            // base case: stop if region too small to divide further
+            if (rw <= difficulty || rh <= difficulty) {
+                continue;
+            }
 
-        // choose orientation: prefer dividing the longer side
-        boolean horizontal = rh >= rw;
+            if (top + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
 
-        if (horizontal) {
-            // choose a wall row - must be at an odd offset relative to rx/ry region to keep cell pattern
-            // wallY is an index in grid (absolute)
-            int wallY = ry + randomOdd(rh - 1); // ensures at least 1 cell margin
-            // choose a random passage column within the region (even index)
-            int passageX = rx + randomEven(rw - 1);
+            // choose orientation: prefer dividing the longer side
+            boolean horizontal = rh >= rw;
 
-            // Build horizontal wall across region at wallY
-            for (int x = rx; x < rx + rw; ++x) {
-                grid[wallY][x] = WALL;
-            }
-            // Carve one passage
-            grid[wallY][passageX] = PATH;
-
-            // Recurse top and bottom regions
-            int topHeight = wallY - ry;
-            int bottomHeight = ry + rh - (wallY + 1);
-            // top region: rx, ry, rw, topHeight
-            if (topHeight > 0) divide(grid, rx, ry, rw, topHeight, difficulty);
-            // bottom region: rx, wallY+1, rw, bottomHeight
-            if (bottomHeight > 0) divide(grid, rx, wallY + 1, rw, bottomHeight, difficulty);
-
-        } else {
-            // vertical wall
-            int wallX = rx + randomOdd(rw - 1);
-            int passageY = ry + randomEven(rh - 1);
-
-            for (int y = ry; y < ry + rh; ++y) {
-                grid[y][wallX] = WALL;
-            }
-            // carve passage
-            grid[passageY][wallX] = PATH;
+            if (horizontal) {
+                // wallY is an odd offset in the region, passageX an even one
+                int wallY = ry + randomOdd(rng, rh - 1);
+                int passageX = rx + randomEven(rng, rw - 1);
+
+                // Build horizontal wall across region at wallY and carve one passage
+                maze.setWallRow(wallY, rx, rx + rw);
+                maze.setPath(passageX, wallY);
 
-            int leftWidth = wallX - rx;
-            int rightWidth = rx + rw - (wallX + 1);
-            if (leftWidth > 0) divide(grid, rx, ry, leftWidth, rh, difficulty);
-            if (rightWidth > 0) divide(grid, wallX + 1, ry, rightWidth, rh, difficulty);
+                int topHeight = wallY - ry;
+                int bottomHeight = ry + rh - (wallY + 1);
+                // push bottom first so that the top region is divided first
+                if (bottomHeight > 0) top = push(stack, top, rx, wallY + 1, rw, bottomHeight);
+                if (topHeight > 0) top = push(stack, top, rx, ry, rw, topHeight);
+
+            } else {
+                // vertical wall
+                int wallX = rx + randomOdd(rng, rw - 1);
+                int passageY = ry + randomEven(rng, rh - 1);
+
+                maze.setWallColumn(wallX, ry, ry + rh);
+                maze.setPath(wallX, passageY);
+
+                int leftWidth = wallX - rx;
+                int rightWidth = rx + rw - (wallX + 1);
+                if (rightWidth > 0) top = push(stack, top, wallX + 1, ry, rightWidth, rh);
+                if (leftWidth > 0) top = push(stack, top, rx, ry, leftWidth, rh);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private static int push(int[] stack, int top, int rx, int ry, int rw, int rh) {
+        stack[top++] = rx;
+        stack[top++] = ry;
+        stack[top++] = rw;
+        stack[top++] = rh;
+        return top;
+    }
+}
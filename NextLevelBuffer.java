@@ -0,0 +1,89 @@
+package ch.epfl.cs107.icmaze;
+
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tampon du niveau suivant : pendant que le joueur joue, un thread de fond
+ * prépare le niveau qui remplacera le niveau courant au prochain reset.
+ * <p>
+ * Le niveau est entièrement généré (plans des aires compris) ; il ne reste
+ * au thread du jeu qu'à enregistrer les aires et leurs acteurs.
+ * N'est utilisé que depuis le thread du jeu.
+ */
+public final class NextLevelBuffer {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "icmaze-next-level");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private Future<ICMazeArea[]> pending;
+    private LevelSettings pendingSettings;
+    private int pendingIndex;
+
+    /**
+     * Lance la génération en fond du niveau d'indice donné ; remplace le niveau en attente.
+     *
+     * @param settings Paramètres du niveau
+     * @param index    Indice du niveau dans la session
+     * @param random   Générateur du niveau (le même qu'une génération directe)
+     */
+    public void prefetch(LevelSettings settings, int index, RandomGenerator random) {
+        invalidate();
+        pendingSettings = settings;
+        pendingIndex = index;
+        pending = worker.submit(() -> LevelGenerator.generateLine(settings.length(), random));
+    }
+
+    /**
+     * Récupère le niveau pré-généré s'il correspond aux paramètres et à l'indice demandés.
+     * Si la génération n'est pas terminée, attend sa fin (toujours plus court que de repartir de zéro).
+     *
+     * @return les aires du niveau, ou null s'il faut générer le niveau directement
+     */
+    public ICMazeArea[] take(LevelSettings settings, int index) {
+        if (pending == null || index != pendingIndex || !settings.equals(pendingSettings)) {
+            invalidate();
+            return null;
+        }
+
+        Future<ICMazeArea[]> level = pending;
+        pending = null;
+        pendingSettings = null;
+
+        try {
+            return level.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("NextLevelBuffer: background generation failed: " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Jette le niveau en attente (paramètres modifiés, ...).
+     */
+    public void invalidate() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+            pendingSettings = null;
+        }
+    }
+
+    /**
+     * @return vrai si un niveau est prêt à être pris sans attente
+     */
+    public boolean isReady() {
+        return pending != null && pending.isDone() && !pending.isCancelled();
+    }
+}
@@ -1,10 +1,13 @@
 package ch.epfl.cs107.icmaze.actor;
 
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,6 +20,15 @@ public abstract class PathFinderEnemy extends Ennemy {
     /** Rayon de perception (carré autour de l'ennemi) */
     protected final int perceptionRadius;
 
+    /** Liste réutilisée à chaque passe d'interaction */
+    private final List<DiscreteCoordinates> fieldOfView;
+
+    /** Collecte des cellules occupées visibles, sans allocation par requête */
+    private final BitMaze.CellConsumer collectVisible = this::collectIfVisible;
+    private ICMazeArea visibleArea;
+    private int centerX;
+    private int centerY;
+
     /**
      * Constructeur d'un PathFinderEnemy.
      *
@@ -35,6 +47,15 @@ public abstract class PathFinderEnemy extends Ennemy {
                               int perceptionRadius) {
         super(area, orientation, position, maxHealth, hitCooldownSeconds);
         this.perceptionRadius = perceptionRadius;
+        this.fieldOfView = new ArrayList<>();
+    }
+
+    /**
+     * @return true si l'ennemi perçoit son entourage ; sinon la perception est
+     * entièrement ignorée (aucun calcul ni interaction à distance)
+     */
+    protected boolean isPerceiving() {
+        return true;
     }
 
     /**
@@ -54,21 +75,41 @@ public abstract class PathFinderEnemy extends Ennemy {
     @Override
     public boolean wantsViewInteraction() {
         // PathFinderEnemy demande UNIQUEMENT des interactions à distance
-        return true;
+        return isPerceiving();
     }
 
     @Override
     public List<DiscreteCoordinates> getFieldOfViewCells() {
-        // Champ de vision = carré centré sur l'ennemi
+        if (!isPerceiving()) return Collections.emptyList();
+
+        // Champ de vision = carré centré sur l'ennemi, limité à l'aire et aux cellules visibles
         DiscreteCoordinates center = getCurrentMainCellCoordinates();
-        List<DiscreteCoordinates> cells = new ArrayList<>();
+        fieldOfView.clear();
 
-        for (int dx = -perceptionRadius; dx <= perceptionRadius; dx++) {
-            for (int dy = -perceptionRadius; dy <= perceptionRadius; dy++) {
-                cells.add(new DiscreteCoordinates(center.x + dx, center.y + dy));
+        if (!(getOwnerArea() instanceof ICMazeArea area)) {
+            for (int dx = -perceptionRadius; dx <= perceptionRadius; dx++) {
+                for (int dy = -perceptionRadius; dy <= perceptionRadius; dy++) {
+                    fieldOfView.add(new DiscreteCoordinates(center.x + dx, center.y + dy));
+                }
             }
+            return fieldOfView;
         }
 
-        return cells;
+        // Seules les cellules occupées du carré peuvent donner lieu à une interaction
+        visibleArea = area;
+        centerX = center.x;
+        centerY = center.y;
+        area.getBehavior().forEachOccupiedCell(
+                center.x - perceptionRadius, center.y - perceptionRadius,
+                center.x + perceptionRadius, center.y + perceptionRadius,
+                collectVisible);
+
+        return fieldOfView;
+    }
+
+    private void collectIfVisible(int x, int y) {
+        if (!visibleArea.isInGrid(x, y)) return;
+        if (!visibleArea.hasLineOfSight(centerX, centerY, x, y)) return;
+        fieldOfView.add(visibleArea.cellAt(x, y));
     }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package ch.epfl.cs107.icmaze.actor.collectable;
 
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
@@ -46,7 +46,7 @@ public class Pickaxe extends ICMazeEquipment {
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 }
 
@@ -8,7 +8,9 @@ import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.window.Canvas;
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 
 import java.util.List;
 
@@ -41,6 +43,7 @@ public class Portal extends AreaEntity {
         this.arrivalCoordinates = arrivalCoordinates;
         this.keyId = keyId;
         this.state = PortalState.INVISIBLE; // par défaut invisible
+        ActorMetrics.created(this);
 
         int o = orientation.ordinal();
 
@@ -78,7 +81,13 @@ public class Portal extends AreaEntity {
     }
 
     public void setState(PortalState state) {
+        boolean wasBlocking = takeCellSpace();
         this.state = state;
+        // Le comportement compte les occupants bloquants : le prévenir si cela change
+        if (wasBlocking != takeCellSpace()
+                && getOwnerArea() instanceof ICMazeArea area && area.getBehavior() != null) {
+            area.getBehavior().setBlocking(this, takeCellSpace());
+        }
     }
 
     public void configureDestination(String destinationArea, DiscreteCoordinates arrivalCoordinates) {
@@ -123,11 +132,13 @@ public class Portal extends AreaEntity {
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         switch (state) {
             case INVISIBLE -> invisibleSprite.draw(canvas);
             case LOCKED -> lockedSprite.draw(canvas);
@@ -1,5 +1,7 @@
 package ch.epfl.cs107.icmaze.actor;
 
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 import ch.epfl.cs107.play.areagame.actor.MovableAreaEntity;
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.actor.Interactor;
@@ -17,9 +19,13 @@ public abstract class Projectile extends MovableAreaEntity implements Interactor
     private int distanceRemaining;
     private boolean hasMoved = false;
 
+    // Réserve d'origine (null si le projectile a été créé directement)
+    private ProjectilePool<?> pool;
+
     protected Projectile(Area area, Orientation orientation, DiscreteCoordinates position) {
         super(area, orientation, position);
         this.distanceRemaining = MAX_DISTANCE;
+        ActorMetrics.created(this);
     }
 
     public abstract int getDamage();
@@ -28,24 +34,60 @@ public abstract class Projectile extends MovableAreaEntity implements Interactor
         distanceRemaining = 0;
     }
 
+    void attachTo(ProjectilePool<?> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Remet le projectile à l'état d'un projectile neuf, pour sa réutilisation par la réserve.
+     */
+    void reset(Orientation orientation, DiscreteCoordinates position) {
+        resetMotion();
+        setCurrentPosition(position.toVector());
+        orientate(orientation);
+        distanceRemaining = MAX_DISTANCE;
+        hasMoved = false;
+        onReset();
+    }
+
+    /**
+     * Réinitialise l'état propre à la sous-classe (animation...) avant réutilisation.
+     */
+    protected void onReset() {
+    }
+
+    /**
+     * Se retire de l'aire et, s'il en vient, retourne à sa réserve.
+     */
+    private void expire() {
+        getOwnerArea().unregisterActor(this);
+        if (pool != null) {
+            ProjectilePool<?> owner = pool;
+            pool = null;
+            owner.release(this);
+        }
+    }
+
     @Override
     public void update(float deltaTime) {
+        ActorMetrics.enter(this, ActorMetrics.Kind.UPDATE);
         if (distanceRemaining <= 0) {
-            getOwnerArea().unregisterActor(this);
+            expire();
             return;
         }
 
         if (!hasMoved) {
-            move(MOVE_DURATION);
             hasMoved = true;
+            // Une cellule de rocher (couche statique ou acteur Rock) refuse le projectile, qui s'arrête
+            if (!move(MOVE_DURATION)) stopProjectile();
         }
 
         if (!isDisplacementOccurs()) {
             distanceRemaining--;
             if (distanceRemaining > 0) {
-                move(MOVE_DURATION);
+                if (!move(MOVE_DURATION)) stopProjectile();
             } else {
-                getOwnerArea().unregisterActor(this);
+                expire();
             }
         }
 
@@ -79,7 +121,16 @@ public abstract class Projectile extends MovableAreaEntity implements Interactor
 
     @Override
     public boolean wantsCellInteraction() {
-        return distanceRemaining > 0;
+        return distanceRemaining > 0 && sharesCell();
+    }
+
+    /**
+     * @return vrai si une autre entité peut se trouver dans la cellule du projectile
+     */
+    private boolean sharesCell() {
+        if (!(getOwnerArea() instanceof ICMazeArea area) || area.getBehavior() == null) return true;
+        DiscreteCoordinates cell = getCurrentMainCellCoordinates();
+        return area.getBehavior().occupantCount(cell.x, cell.y) > 1;
     }
 
     @Override
@@ -0,0 +1,122 @@
+package ch.epfl.cs107.icmaze.actor;
+
+import ch.epfl.cs107.play.areagame.area.Area;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réserve de projectiles d'un même type pour une aire.
+ * <p>
+ * Un projectile arrêté ou arrivé en fin de course se désenregistre puis revient
+ * à la réserve ; il n'est réutilisable qu'après la purge des enregistrements
+ * qui suit, d'où l'appel à {@link #recycle()} au début de chaque mise à jour de l'aire.
+ *
+ * @param <P> type de projectile
+ */
+public final class ProjectilePool<P extends Projectile> {
+
+    /** Nombre maximal de projectiles gardés en réserve */
+    private static final int MAX_FREE = 64;
+
+    @FunctionalInterface
+    public interface Factory<P extends Projectile> {
+        P create(Area area, Orientation orientation, DiscreteCoordinates position);
+    }
+
+    private final Area area;
+    private final Factory<P> factory;
+    private final ArrayDeque<P> free = new ArrayDeque<>();
+    private final List<P> released = new ArrayList<>();
+
+    private int inUse;
+    private int peakInUse;
+    private long created;
+    private long reused;
+    private long discarded;
+
+    public ProjectilePool(Area area, Factory<P> factory) {
+        this.area = area;
+        this.factory = factory;
+    }
+
+    /**
+     * Tire un projectile de la réserve (ou en crée un), le place et l'enregistre dans l'aire.
+     */
+    public P obtain(Orientation orientation, DiscreteCoordinates position) {
+        P projectile = free.poll();
+        if (projectile == null) {
+            projectile = factory.create(area, orientation, position);
+            created++;
+        } else {
+            projectile.reset(orientation, position);
+            reused++;
+        }
+        projectile.attachTo(this);
+
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+        area.registerActor(projectile);
+        return projectile;
+    }
+
+    /**
+     * Appelé par un projectile qui vient de se désenregistrer.
+     */
+    void release(Projectile projectile) {
+        @SuppressWarnings("unchecked")
+        P p = (P) projectile;
+        released.add(p);
+        inUse--;
+    }
+
+    /**
+     * Rend à la réserve les projectiles libérés depuis la dernière mise à jour.
+     */
+    public void recycle() {
+        for (P projectile : released) {
+            if (free.size() < MAX_FREE) {
+                free.push(projectile);
+            } else {
+                discarded++;
+            }
+        }
+        released.clear();
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getPeakInUse() {
+        return peakInUse;
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    public long getCreatedCount() {
+        return created;
+    }
+
+    public long getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * @return le nombre de projectiles libérés alors que la réserve était pleine
+     */
+    public long getDiscardedCount() {
+        return discarded;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectilePool[inUse=" + inUse + ", peak=" + peakInUse + ", free=" + free.size()
+                + ", created=" + created + ", reused=" + reused + ", discarded=" + discarded + "]";
+    }
+}
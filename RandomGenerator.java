@@ -3,9 +3,84 @@ package ch.epfl.cs107.icmaze;
 import java.util.Random;
 
 /**
- * Pseudo-random generator used for various aspects of the game
+ * Seeded source of pseudo-random streams used for various aspects of the game.
+ *
+ * A RandomGenerator is only a 64-bit seed. {@link #split(String)} and
+ * {@link #split(long)} derive independent child generators (per area, actor,
+ * subsystem...) by mixing the seed with the child's name or index, the same way
+ * {@link java.util.SplittableRandom} derives its seeds. A stream therefore only
+ * depends on the root seed and on the path of names leading to it, not on call
+ * order or on the thread that uses it: generating a level from a seed is
+ * reproducible bit for bit, even when areas are generated in parallel.
+ *
+ * Each call to {@link #random()} returns a fresh {@link Random} owned by its
+ * caller, so no instance is ever shared (and contended) between threads.
  */
-public class RandomGenerator {
-    // randomly selects seed (c.f. https://docs.oracle.com/javase/8/docs/api/java/util/Random.html#Random--)
-    public static Random rng = new Random();
+public final class RandomGenerator {
+
+    /** System property fixing the seed of the game, e.g. -Dicmaze.seed=42 */
+    public static final String SEED_PROPERTY = "icmaze.seed";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    public RandomGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return a generator seeded by {@link #SEED_PROPERTY} if set, from the clock otherwise
+     */
+    public static RandomGenerator fromSystemProperty() {
+        String value = System.getProperty(SEED_PROPERTY);
+        if (value != null) {
+            return new RandomGenerator(Long.parseLong(value.trim()));
+        }
+        return fromClock();
+    }
+
+    /**
+     * @return a generator with a seed taken from the clock (not reproducible)
+     */
+    public static RandomGenerator fromClock() {
+        return new RandomGenerator(mix64(System.nanoTime() ^ System.currentTimeMillis() * GOLDEN_GAMMA));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the child generator for a named subsystem ("layout", "maze", "LogMonster"...)
+     */
+    public RandomGenerator split(String name) {
+        return split(name.hashCode() & 0xFFFFFFFFL | (long) name.length() << 32);
+    }
+
+    /**
+     * @return the child generator for an index (area number, actor number...)
+     */
+    public RandomGenerator split(long index) {
+        return new RandomGenerator(mix64(seed + GOLDEN_GAMMA * (mix64(index) | 1L)));
+    }
+
+    /**
+     * @return a new Random drawing this generator's stream, owned by the caller
+     */
+    public Random random() {
+        return new Random(mix64(seed));
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(seed);
+    }
+
+    /** Stafford variant 13 of the MurmurHash3 finalizer, as in SplittableRandom */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
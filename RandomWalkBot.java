@@ -0,0 +1,42 @@
+package ch.epfl.cs107.icmaze.headless;
+
+import ch.epfl.cs107.icmaze.KeyBindings;
+
+import java.util.Random;
+
+/**
+ * Bot that wanders through the level: it holds a random direction for a few
+ * frames, and now and then attacks or interacts, using the player key bindings.
+ * The same seed always produces the same inputs.
+ */
+public final class RandomWalkBot implements ScriptedKeyboard.Driver {
+
+    private static final int MIN_HOLD_FRAMES = 4;
+    private static final int MAX_HOLD_FRAMES = 40;
+    private static final double ACTION_PROBABILITY = 0.05;
+
+    private final Random random;
+    private final int[] directions;
+    private int direction;
+    private long changeAt;
+
+    public RandomWalkBot(long seed) {
+        KeyBindings.PlayerKeyBindings keys = KeyBindings.PLAYER_KEY_BINDINGS;
+        this.random = new Random(seed);
+        this.directions = new int[]{keys.up(), keys.left(), keys.down(), keys.right()};
+    }
+
+    @Override
+    public void drive(ScriptedKeyboard keyboard, long frame) {
+        if (frame >= changeAt) {
+            direction = directions[random.nextInt(directions.length)];
+            changeAt = frame + MIN_HOLD_FRAMES + random.nextInt(MAX_HOLD_FRAMES - MIN_HOLD_FRAMES);
+        }
+        keyboard.hold(direction);
+
+        if (random.nextDouble() < ACTION_PROBABILITY) {
+            KeyBindings.PlayerKeyBindings keys = KeyBindings.PLAYER_KEY_BINDINGS;
+            keyboard.hold(random.nextBoolean() ? keys.attack() : keys.interact());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+import ch.epfl.cs107.icmaze.MazeGenerator;
+
+import java.util.Random;
+
+/**
+ * Recursive division (the historical ICMaze generator): open rooms split by
+ * walls with a single passage. The difficulty is the minimal room size.
+ */
+public final class RecursiveDivision extends AbstractMazeAlgorithm {
+
+    @Override
+    public String getName() {
+        return "recursive-division";
+    }
+
+    @Override
+    protected BitMaze carve(int width, int height, int difficulty, Random rng) {
+        return MazeGenerator.createBitMaze(width, height, difficulty, rng);
+    }
+}
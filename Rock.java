@@ -1,16 +1,18 @@
 package ch.epfl.cs107.icmaze.actor;
 
 import ch.epfl.cs107.icmaze.actor.collectable.Heart;
-import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.actor.util.FramePlayer;
+import ch.epfl.cs107.icmaze.actor.util.SpriteSheets;
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
 import ch.epfl.cs107.play.areagame.actor.AreaEntity;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
-import ch.epfl.cs107.play.engine.actor.Animation;
 import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Transform;
-import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.window.Canvas;
 
 import java.util.Collections;
@@ -21,7 +23,6 @@ public class Rock extends AreaEntity {
 
     private static final int DEFAULT_HP = 2;
     private static final double HEART_DROP_PROBABILITY = 0.5;
-    private static final Random RNG = new Random();
     private static final int VANISH_FRAME_DURATION = 3;
 
     private final Sprite sprite;
@@ -31,7 +32,7 @@ public class Rock extends AreaEntity {
     // Barre de vie
     private final Health health;
 
-    private Animation vanishAnimation = null;
+    private FramePlayer vanishAnimation = null;
     private boolean isDying = false;
 
     public Rock(Area area, Orientation orientation, DiscreteCoordinates position) {
@@ -42,6 +43,7 @@ public class Rock extends AreaEntity {
 
         // Initialiser la barre de vie (rouge car pas amical)
         this.health = new Health(this, Transform.I.translated(0.f, 1.5f), maxHp, false);
+        ActorMetrics.created(this);
     }
 
     @Override
@@ -76,29 +78,20 @@ public class Rock extends AreaEntity {
         if (hp <= 0) {
             isDying = true;
 
-            // Extraction des 7 frames
-            Sprite[] vanishFrames = Sprite.extractSprites(
-                    "icmaze/vanish",
-                    7,
-                    2, 2,
-                    this,
-                    32, 32
-            );
-
-            for (Sprite s : vanishFrames) {
-                s.setAnchor(new Vector(-0.5f, 0f));
+            // La cellule redevient praticable pour la navigation des monstres
+            if (getOwnerArea() instanceof ICMazeArea area) {
+                area.onRockDestroyed(getCurrentMainCellCoordinates());
+                area.getBehavior().setBlocking(this, false);
             }
 
-            vanishAnimation = new Animation(
-                    VANISH_FRAME_DURATION,
-                    vanishFrames,
-                    false
-            );
+            // Les 7 frames sont partagées ; seul l'état de lecture est propre au rocher
+            vanishAnimation = new FramePlayer(SpriteSheets.vanish(), VANISH_FRAME_DURATION, false);
         }
     }
 
     @Override
     public void update(float deltaTime) {
+        ActorMetrics.enter(this, ActorMetrics.Kind.UPDATE);
         super.update(deltaTime);
 
         if (isDying && vanishAnimation != null) {
@@ -109,17 +102,27 @@ public class Rock extends AreaEntity {
                 owner.unregisterActor(this);
 
                 // Drop de Heart
-                if (RNG.nextDouble() < HEART_DROP_PROBABILITY) {
+                if (dropRandom(owner).nextDouble() < HEART_DROP_PROBABILITY) {
                     owner.registerActor(new Heart(owner, getCurrentMainCellCoordinates()));
                 }
             }
         }
     }
 
+    /** Flux aléatoire de l'aire pour les drops, pour que la partie reste reproductible */
+    private static Random dropRandom(Area owner) {
+        if (owner instanceof ICMazeArea area) {
+            return area.randomStream("heart-drop");
+        }
+        return new Random();
+    }
+
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         if (isDying && vanishAnimation != null) {
-            vanishAnimation.draw(canvas);
+            vanishAnimation.draw(canvas, this);
         } else {
             sprite.draw(canvas);
             // Dessiner la barre de vie seulement si le rocher est endommagé
@@ -131,8 +134,6 @@ public class Rock extends AreaEntity {
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        if (v instanceof ICMazeInteractionVisitor) {
-            ((ICMazeInteractionVisitor) v).interactWith(this, isCellInteraction);
-        }
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 }
\ No newline at end of file
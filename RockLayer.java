@@ -0,0 +1,86 @@
+package ch.epfl.cs107.icmaze.area;
+
+import ch.epfl.cs107.play.engine.actor.Sprite;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.window.Canvas;
+
+import java.util.BitSet;
+
+/**
+ * Couche statique des rochers intacts d'une aire.
+ * <p>
+ * Un rocher que personne n'a touché n'est qu'un bit (index x + y * largeur) :
+ * pas d'acteur, pas de barre de vie, pas de mise à jour. La couche dessine les
+ * rochers visibles avec un seul sprite déplacé de cellule en cellule. Un vrai Rock
+ * n'est créé que lorsque la pioche du joueur frappe la cellule (voir
+ * ICMazeArea.promoteRock), et la cellule quitte alors la couche.
+ */
+public final class RockLayer {
+
+    private final int width;
+    private final int height;
+    private final BitSet rocks = new BitSet();
+
+    // Transformation de chaque cellule, calculée au premier dessin
+    private final Transform[] transforms;
+
+    private final CellCursor cursor = new CellCursor();
+    private final Sprite sprite = new Sprite("rock.2", 1f, 1f, cursor);
+
+    RockLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.transforms = new Transform[width * height];
+    }
+
+    void add(int x, int y) {
+        rocks.set(x + y * width);
+    }
+
+    /**
+     * @return vrai si la cellule portait un rocher de la couche (il en est retiré)
+     */
+    boolean remove(int x, int y) {
+        int index = x + y * width;
+        if (!rocks.get(index)) return false;
+        rocks.clear(index);
+        return true;
+    }
+
+    public boolean contains(int x, int y) {
+        return rocks.get(x + y * width);
+    }
+
+    /**
+     * @return le nombre de rochers encore dans la couche
+     */
+    public int size() {
+        return rocks.cardinality();
+    }
+
+    /**
+     * Dessine les rochers du rectangle de cellules [minX, maxX] x [minY, maxY] :
+     * le coût suit la vue de la caméra, pas la taille de l'aire.
+     */
+    public void draw(Canvas canvas, int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(0, minX);
+        minY = Math.max(0, minY);
+        maxX = Math.min(width - 1, maxX);
+        maxY = Math.min(height - 1, maxY);
+        if (minX > maxX) return;
+
+        for (int y = minY; y <= maxY; ++y) {
+            int end = maxX + y * width;
+            for (int index = rocks.nextSetBit(minX + y * width); index >= 0 && index <= end;
+                 index = rocks.nextSetBit(index + 1)) {
+                Transform transform = transforms[index];
+                if (transform == null) {
+                    transform = Transform.I.translated(index % width, y);
+                    transforms[index] = transform;
+                }
+                cursor.transform = transform;
+                sprite.draw(canvas);
+            }
+        }
+    }
+}
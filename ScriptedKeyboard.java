@@ -0,0 +1,122 @@
+package ch.epfl.cs107.icmaze.headless;
+
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Keyboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keyboard whose keys are driven by a script and/or a bot instead of a real window.
+ *
+ * Key states are computed once per frame by {@link #advance()}: a key is down if
+ * a scripted hold covers the current frame or if the driver held it this frame.
+ * The pressed/released edges are derived from the previous frame, exactly like
+ * the real keyboard, and no Button is allocated per query.
+ */
+public final class ScriptedKeyboard implements Keyboard {
+
+    /**
+     * Decides which keys are held at each frame (bot, replay, ...).
+     */
+    @FunctionalInterface
+    public interface Driver {
+        /**
+         * Called once per frame before the game update; use {@link ScriptedKeyboard#hold(int)}.
+         */
+        void drive(ScriptedKeyboard keyboard, long frame);
+    }
+
+    private static final int KEY_COUNT = 1024;
+
+    private static final Button IDLE = new Button(false, false, false);
+    private static final Button PRESSED = new Button(true, false, true);
+    private static final Button DOWN = new Button(false, false, true);
+    private static final Button RELEASED = new Button(false, true, false);
+
+    private record Hold(int key, long from, long to) {}
+
+    private final List<Hold> script = new ArrayList<>();
+    private final boolean[] down = new boolean[KEY_COUNT];
+    private final boolean[] held = new boolean[KEY_COUNT];
+    private final Button[] buttons = new Button[KEY_COUNT];
+    private Driver driver;
+    private long frame = -1;
+
+    public ScriptedKeyboard() {
+        Arrays.fill(buttons, IDLE);
+    }
+
+    /**
+     * Holds a key during the frames [from, to).
+     */
+    public ScriptedKeyboard script(int key, long from, long to) {
+        checkKey(key);
+        script.add(new Hold(key, from, to));
+        return this;
+    }
+
+    /**
+     * Presses a key for a single frame.
+     */
+    public ScriptedKeyboard tap(int key, long frame) {
+        return script(key, frame, frame + 1);
+    }
+
+    public ScriptedKeyboard setDriver(Driver driver) {
+        this.driver = driver;
+        return this;
+    }
+
+    /**
+     * Holds a key for the current frame; meant to be called from a {@link Driver}.
+     */
+    public void hold(int key) {
+        checkKey(key);
+        held[key] = true;
+    }
+
+    /**
+     * @return the frame whose key states are currently exposed
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Moves to the next frame and recomputes every key state.
+     */
+    public void advance() {
+        ++frame;
+        Arrays.fill(held, false);
+
+        for (Hold hold : script) {
+            if (frame >= hold.from && frame < hold.to) held[hold.key] = true;
+        }
+        if (driver != null) driver.drive(this, frame);
+
+        for (int key = 0; key < KEY_COUNT; ++key) {
+            boolean wasDown = down[key];
+            boolean isDown = held[key];
+            down[key] = isDown;
+            if (isDown) {
+                buttons[key] = wasDown ? DOWN : PRESSED;
+            } else {
+                buttons[key] = wasDown ? RELEASED : IDLE;
+            }
+        }
+    }
+
+    @Override
+    public Button get(int code) {
+        if (code < 0 || code >= KEY_COUNT) return IDLE;
+        return buttons[code];
+    }
+
+    private static void checkKey(int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            throw new IllegalArgumentException("unsupported key code " + key);
+        }
+    }
+}
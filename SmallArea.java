@@ -1,140 +1,16 @@
 package ch.epfl.cs107.icmaze.area.maps;
 
-import ch.epfl.cs107.icmaze.MazeGenerator;
-import ch.epfl.cs107.icmaze.actor.LogMonster;
-import ch.epfl.cs107.icmaze.actor.Rock;
-import ch.epfl.cs107.icmaze.actor.collectable.Key;
-import ch.epfl.cs107.icmaze.area.ICMazeArea;
-import ch.epfl.cs107.play.math.DiscreteCoordinates;
-import ch.epfl.cs107.play.math.Orientation;
-
-import java.util.Random;
-
-public class SmallArea extends ICMazeArea {
+public class SmallArea extends MazeArea {
 
     private static final int DIFFICULTY = 2;
     private static final int MONSTER_COUNT = 1;
 
     public SmallArea() {
-        super("SmallArea", 8);
+        super("SmallArea", 8, DIFFICULTY, MONSTER_COUNT, 1000, 2000);
     }
 
     @Override
-    protected void createArea() {
-        int size = getSize();
-
-        // Générer le labyrinthe (0 = chemin, 1 = mur)
-        int[][] maze = MazeGenerator.createMaze(size, size, DIFFICULTY);
-
-        // Positions d'entrée et de sortie
-        DiscreteCoordinates entry = getArrivalCoordinates(ICMazeArea.AreaPortals.W);
-        DiscreteCoordinates exit  = getArrivalCoordinates(ICMazeArea.AreaPortals.E);
-
-        // Placer des rochers
-        for (int y = 1; y < size - 1; ++y) {
-            for (int x = 1; x < size - 1; ++x) {
-                if (maze[y][x] == 1) {
-                    DiscreteCoordinates p = new DiscreteCoordinates(x, y);
-
-                    if (p.equals(entry) || p.equals(exit)) continue;
-                    if (isAdjacentTo(p, entry) || isAdjacentTo(p, exit)) continue;
-
-                    try {
-                        registerActor(new Rock(this, Orientation.DOWN, p));
-                    } catch (Exception e) {
-                        // Si placement échoue, continuer
-                    }
-                }
-            }
-        }
-
-        // Spawner les monstres
-        spawnMonsters(maze, entry, exit, MONSTER_COUNT);
-
-        // Placer la clé de sortie dans un endroit accessible
-        placeExitKey(maze, entry, exit);
-    }
-
-    /**
-     * Place la clé de sortie dans le niveau
-     */
-    private void placeExitKey(int[][] maze, DiscreteCoordinates entry, DiscreteCoordinates exit) {
-        // Récupérer l'ID de la clé via la méthode publique
-        int keyId = getExitKeyId();
-
-        if (keyId == 0) {
-            System.out.println("SmallArea: No exit key required");
-            return;
-        }
-
-        Random rng = new Random();
-        int size = getSize();
-
-        int tries = 0;
-        while (tries < 1000) {
-            tries++;
-            int x = rng.nextInt(size - 2) + 1;
-            int y = rng.nextInt(size - 2) + 1;
-
-            // Placer sur un chemin (0)
-            if (maze[y][x] != 0) continue;
-
-            DiscreteCoordinates keyPos = new DiscreteCoordinates(x, y);
-
-            // Pas trop près de l'entrée
-            if (keyPos.equals(entry) || isAdjacentTo(keyPos, entry)) continue;
-
-            try {
-                registerActor(new Key(this, keyPos, Orientation.DOWN, keyId));
-                System.out.println("SmallArea: Placed exit key (ID=" + keyId + ") at " + keyPos);
-                return;
-            } catch (Exception e) {
-                // Si placement échoue, continuer à essayer
-            }
-        }
-
-        System.err.println("SmallArea: Failed to place exit key after " + tries + " tries!");
-    }
-
-    /**
-     * Vérifie si deux positions sont adjacentes (distance Manhattan = 1)
-     */
-    private boolean isAdjacentTo(DiscreteCoordinates pos, DiscreteCoordinates target) {
-        return Math.abs(pos.x - target.x) + Math.abs(pos.y - target.y) == 1;
-    }
-
-    /**
-     * Spawne les monstres dans le niveau
-     */
-    private void spawnMonsters(int[][] maze, DiscreteCoordinates entry, DiscreteCoordinates exit, int count) {
-        Random rng = new Random();
-        int size = getSize();
-
-        int spawned = 0;
-        int tries = 0;
-
-        while (spawned < count && tries < 2000) {
-            tries++;
-            int x = rng.nextInt(size - 2) + 1;
-            int y = rng.nextInt(size - 2) + 1;
-
-            // Placer uniquement sur les chemins
-            if (maze[y][x] != 0) continue;
-
-            DiscreteCoordinates p = new DiscreteCoordinates(x, y);
-
-            // Ne pas bloquer l'entrée ou la sortie
-            if (p.equals(entry) || p.equals(exit)) continue;
-            if (isAdjacentTo(p, entry) || isAdjacentTo(p, exit)) continue;
-
-            try {
-                registerActor(new LogMonster(this, Orientation.DOWN, p, LogMonster.State.RANDOM));
-                spawned++;
-            } catch (Exception e) {
-                // Si placement échoue, continuer à essayer
-            }
-        }
-
-        System.out.println("SmallArea: Spawned " + spawned + "/" + count + " monsters (tries: " + tries + ")");
+    protected MazeArea newInstance() {
+        return new SmallArea();
     }
-}
\ No newline at end of file
+}
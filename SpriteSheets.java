@@ -0,0 +1,76 @@
+package ch.epfl.cs107.icmaze.actor.util;
+
+import ch.epfl.cs107.play.engine.actor.Sprite;
+import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.Vector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Game-wide cache of sprite strips, keyed by resource name and geometry.
+ *
+ * The frames are extracted once without a parent and shared by every instance;
+ * each instance plays them with its own {@link FramePlayer}, which attaches the
+ * frame to its owner just before drawing it.
+ */
+public final class SpriteSheets {
+
+    private record Key(String name, int frames, float width, float height,
+                       int regionWidth, int regionHeight, float anchorX, float anchorY) {
+    }
+
+    private record OrientedKey(Key sheet, List<Orientation> order) {
+    }
+
+    private static final Map<Key, Sprite[]> CACHE = new ConcurrentHashMap<>();
+    private static final Map<OrientedKey, Sprite[][]> ORIENTED = new ConcurrentHashMap<>();
+
+    private static final Vector VANISH_ANCHOR = new Vector(-0.5f, 0f);
+
+    private SpriteSheets() {}
+
+    /**
+     * @return the shared frames of a horizontal strip, extracted on first use
+     */
+    public static Sprite[] strip(String name, int frames, float width, float height,
+                                 int regionWidth, int regionHeight, Vector anchor) {
+        Key key = new Key(name, frames, width, height, regionWidth, regionHeight, anchor.x, anchor.y);
+        return CACHE.computeIfAbsent(key, k -> {
+            Sprite[] sprites = Sprite.extractSprites(name, frames, width, height, null, regionWidth, regionHeight);
+            for (Sprite s : sprites) {
+                s.setAnchor(anchor);
+            }
+            return sprites;
+        });
+    }
+
+    /**
+     * Oriented sheet laid out like the engine OrientedAnimation expects: one
+     * column of frames per orientation, in the given order.
+     *
+     * @return the shared frames, indexed by orientation ordinal then frame, extracted on first use
+     */
+    public static Sprite[][] oriented(String name, int frames, float width, float height,
+                                      int regionWidth, int regionHeight, Vector anchor, Orientation[] order) {
+        Key sheet = new Key(name, frames, width, height, regionWidth, regionHeight, anchor.x, anchor.y);
+        return ORIENTED.computeIfAbsent(new OrientedKey(sheet, List.of(order)), k -> {
+            Sprite[][] sprites = Sprite.extractSprites(name, frames, width, height, null, regionWidth, regionHeight, order);
+            for (Sprite[] row : sprites) {
+                if (row == null) continue;
+                for (Sprite s : row) {
+                    if (s != null) s.setAnchor(anchor);
+                }
+            }
+            return sprites;
+        });
+    }
+
+    /**
+     * @return the 7 frames of the vanish effect shared by rocks and enemies
+     */
+    public static Sprite[] vanish() {
+        return strip("icmaze/vanish", 7, 2, 2, 32, 32, VANISH_ANCHOR);
+    }
+}
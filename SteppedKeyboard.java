@@ -0,0 +1,87 @@
+package ch.epfl.cs107.icmaze;
+
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Keyboard;
+
+import java.util.BitSet;
+
+/**
+ * Keyboard seen by the game when a displayed frame runs zero, one or several
+ * simulation steps.
+ *
+ * Key presses and releases are reported during the first step of a frame
+ * only, so one key stroke is never handled twice; held keys stay held in
+ * every step. A stroke seen on a frame where no step was due is kept and
+ * reported by the first step of a later frame, so it is never lost either.
+ */
+public final class SteppedKeyboard implements Keyboard {
+
+    // Every (pressed, released, down) combination, indexed by pressed | released << 1 | down << 2
+    private static final Button[] BUTTONS = new Button[8];
+
+    static {
+        for (int i = 0; i < BUTTONS.length; ++i) {
+            BUTTONS[i] = new Button((i & 1) != 0, (i & 2) != 0, (i & 4) != 0);
+        }
+    }
+
+    private final Keyboard target;
+
+    // Key codes read by the game, polled on every frame, and the strokes not yet reported
+    private final BitSet watched = new BitSet();
+    private final BitSet pressed = new BitSet();
+    private final BitSet released = new BitSet();
+
+    private boolean firstStep = true;
+
+    public SteppedKeyboard(Keyboard target) {
+        this.target = target;
+    }
+
+    /**
+     * Called once per displayed frame, before its steps: records the strokes of the watched keys.
+     */
+    public void poll() {
+        for (int code = watched.nextSetBit(0); code >= 0; code = watched.nextSetBit(code + 1)) {
+            Button button = target.get(code);
+            if (button.isPressed()) pressed.set(code);
+            if (button.isReleased()) released.set(code);
+        }
+    }
+
+    /**
+     * Called before each simulation step of a frame.
+     */
+    public void beginStep(boolean first) {
+        if (!first && firstStep) {
+            // The first step of the frame has reported the recorded strokes
+            pressed.clear();
+            released.clear();
+        }
+        firstStep = first;
+    }
+
+    /**
+     * Called after the last step of a frame that ran at least one step.
+     */
+    public void endSteps() {
+        beginStep(false);
+        firstStep = true;
+    }
+
+    @Override
+    public Button get(int code) {
+        Button button = target.get(code);
+        if (!watched.get(code)) {
+            // First read of this key: nothing was recorded for it yet
+            watched.set(code);
+            if (firstStep) return button;
+        }
+
+        boolean down = button.isDown();
+        if (!firstStep) return BUTTONS[down ? 4 : 0];
+        boolean isPressed = pressed.get(code) || button.isPressed();
+        boolean isReleased = released.get(code) || button.isReleased();
+        return BUTTONS[(isPressed ? 1 : 0) | (isReleased ? 2 : 0) | (down ? 4 : 0)];
+    }
+}
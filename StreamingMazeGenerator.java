@@ -0,0 +1,247 @@
+package ch.epfl.cs107.icmaze;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Streaming maze generator based on Eller's algorithm.
+ *
+ * The maze is produced one grid row at a time and handed to a {@link RowConsumer};
+ * only the set membership of the current lattice row is kept, so memory stays
+ * O(width) whatever the number of rows. Given the same width and seed, the
+ * sequence of rows is always the same.
+ *
+ * Rows use the same convention as {@link MazeGenerator}: cells at odd coordinates,
+ * border made of walls, row 0 at the top of the emitted sequence.
+ */
+public final class StreamingMazeGenerator {
+
+    /**
+     * Receives the rows of the maze, in increasing y order.
+     * The row object is reused: it must not be kept after accept returns.
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int y, MazeRow row);
+    }
+
+    /**
+     * One row of walls (1) and paths (0), packed 64 cells per long.
+     */
+    public static final class MazeRow {
+        private final int width;
+        private final long[] words;
+
+        private MazeRow(int width) {
+            this.width = width;
+            this.words = new long[(width + 63) >>> 6];
+        }
+
+        public int width() {
+            return width;
+        }
+
+        /** Out-of-bounds cells are reported as walls */
+        public boolean isWall(int x) {
+            if (x < 0 || x >= width) return true;
+            return (words[x >>> 6] & (1L << x)) != 0;
+        }
+
+        public boolean isPath(int x) {
+            return !isWall(x);
+        }
+
+        /** @return the packed words of the row, shared: do not modify */
+        long[] words() {
+            return words;
+        }
+
+        private void fillWalls() {
+            Arrays.fill(words, -1L);
+        }
+
+        private void setPath(int x) {
+            words[x >>> 6] &= ~(1L << x);
+        }
+    }
+
+    private final int width;
+    private final int cells;
+    private final Random rng;
+
+    private final MazeRow row;
+    private final int[] set;
+    private final int[] parent;
+    private final boolean[] used;
+    private final int[] freeIds;
+    private final boolean[] down;
+    private final boolean[] hasDown;
+    private final int[] seen;
+    private final int[] candidate;
+
+    private int nextY = 0;
+
+    /**
+     * @param width (int): number of columns of the grid, >= 3
+     * @param seed  (long): seed of the generation
+     */
+    public StreamingMazeGenerator(int width, long seed) {
+        this(width, new Random(seed));
+    }
+
+    /**
+     * @param width (int): number of columns of the grid, >= 3
+     * @param rng   (Random): source of randomness, owned by this generator from now on
+     */
+    public StreamingMazeGenerator(int width, Random rng) {
+        if (width < 3) {
+            throw new IllegalArgumentException("width must be >= 3");
+        }
+        this.width = width;
+        this.cells = (width - 1) / 2;
+        this.rng = rng;
+
+        this.row = new MazeRow(width);
+        this.set = new int[cells];
+        Arrays.fill(set, -1);
+        this.parent = new int[cells];
+        this.used = new boolean[cells];
+        this.freeIds = new int[cells];
+        this.down = new boolean[cells];
+        this.hasDown = new boolean[cells];
+        this.seen = new int[cells];
+        this.candidate = new int[cells];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return the number of grid rows emitted so far
+     */
+    public int emittedRows() {
+        return nextY;
+    }
+
+    /**
+     * Emits a complete maze of 2 * latticeRows + 1 grid rows:
+     * the top border, latticeRows - 1 open rows and the closing row.
+     */
+    public void generate(int latticeRows, RowConsumer consumer) {
+        if (latticeRows <= 0) {
+            throw new IllegalArgumentException("latticeRows must be > 0");
+        }
+        begin(consumer);
+        for (int j = 0; j < latticeRows - 1; ++j) {
+            nextRow(consumer);
+        }
+        lastRow(consumer);
+    }
+
+    /**
+     * Emits the top border. Must be called once, before any other row.
+     */
+    public void begin(RowConsumer consumer) {
+        if (nextY != 0) {
+            throw new IllegalStateException("maze already started");
+        }
+        row.fillWalls();
+        emit(consumer);
+    }
+
+    /**
+     * Emits one lattice row (two grid rows) that stays open toward the next one.
+     * Can be called indefinitely for unbounded mazes.
+     */
+    public void nextRow(RowConsumer consumer) {
+        step(false, consumer);
+    }
+
+    /**
+     * Emits the last lattice row, joining every remaining set, and the bottom border.
+     */
+    public void lastRow(RowConsumer consumer) {
+        step(true, consumer);
+    }
+
+    private void step(boolean last, RowConsumer consumer) {
+        if (nextY == 0) {
+            throw new IllegalStateException("begin must be called first");
+        }
+
+        // Give a fresh set to every column not connected from the row above
+        Arrays.fill(used, false);
+        for (int i = 0; i < cells; ++i) {
+            if (set[i] >= 0) used[set[i]] = true;
+        }
+        int freeCount = 0;
+        for (int id = 0; id < cells; ++id) {
+            if (!used[id]) freeIds[freeCount++] = id;
+            parent[id] = id;
+        }
+        for (int i = 0; i < cells; ++i) {
+            if (set[i] < 0) set[i] = freeIds[--freeCount];
+        }
+
+        // Cell row: open cells, then horizontal joins (all of them on the last row)
+        row.fillWalls();
+        for (int i = 0; i < cells; ++i) {
+            row.setPath(2 * i + 1);
+        }
+        for (int i = 0; i < cells - 1; ++i) {
+            int a = find(set[i]);
+            int b = find(set[i + 1]);
+            if (a != b && (last || rng.nextBoolean())) {
+                parent[b] = a;
+                row.setPath(2 * i + 2);
+            }
+        }
+        emit(consumer);
+
+        row.fillWalls();
+        if (last) {
+            emit(consumer);
+            return;
+        }
+
+        // Wall row: random vertical joins, plus at least one per set
+        Arrays.fill(hasDown, false);
+        Arrays.fill(seen, 0);
+        for (int i = 0; i < cells; ++i) {
+            int root = find(set[i]);
+            down[i] = rng.nextBoolean();
+            if (down[i]) hasDown[root] = true;
+            // reservoir sampling of one column per set
+            if (rng.nextInt(++seen[root]) == 0) candidate[root] = i;
+        }
+        for (int i = 0; i < cells; ++i) {
+            int root = find(set[i]);
+            if (!hasDown[root]) {
+                down[candidate[root]] = true;
+                hasDown[root] = true;
+            }
+        }
+        for (int i = 0; i < cells; ++i) {
+            if (down[i]) {
+                row.setPath(2 * i + 1);
+                set[i] = find(set[i]);
+            } else {
+                set[i] = -1;
+            }
+        }
+        emit(consumer);
+    }
+
+    private void emit(RowConsumer consumer) {
+        consumer.accept(nextY++, row);
+    }
+
+    private int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
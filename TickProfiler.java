@@ -0,0 +1,161 @@
+package ch.epfl.cs107.icmaze.profiling;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-frame profiler of the game loop, broken down by phase and by area title.
+ *
+ * The engine runs an area's actor updates and interactions in a single
+ * Area.update call, so these two phases are delimited by marks: ICMazeArea opens
+ * the UPDATE phase when its update starts and the first interactor callback of
+ * the step switches to INTERACTION. A phase without any mark is merged into the
+ * previous one. Drawing is a separate pass, run once per displayed frame by
+ * ICMazeArea.drawFrame between {@link #beginDraw} and {@link #endDraw}.
+ *
+ * Disabled by default: with -Dicmaze.profile=true the results are printed when
+ * {@link ch.epfl.cs107.icmaze.KeyBindings#PAUSE_GAME} is pressed and on exit
+ * (to the file named by -Dicmaze.profile.file if set). When disabled every hook
+ * is a test of a static final constant that the JIT removes.
+ * Only used from the game thread.
+ */
+public final class TickProfiler {
+
+    public static final boolean ENABLED = Boolean.getBoolean("icmaze.profile");
+    public static final String FILE_PROPERTY = "icmaze.profile.file";
+
+    /**
+     * Measured sections: FRAME is the whole ICMaze.update, AREA the whole
+     * Area.update, UPDATE/INTERACTION its two passes and DRAW the draw pass.
+     */
+    public enum Phase {
+        FRAME, AREA, UPDATE, INTERACTION, DRAW
+    }
+
+    private static final Map<String, Map<Phase, LatencyHistogram>> AREAS = new LinkedHashMap<>();
+
+    private static Map<Phase, LatencyHistogram> current;
+    private static long areaStart;
+    private static Phase phase;
+    private static long phaseStart;
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(TickProfiler::dumpOnExit, "icmaze-profile-dump"));
+        }
+    }
+
+    private TickProfiler() {}
+
+    /**
+     * Records the duration of a whole game frame spent in the given area.
+     */
+    public static void recordFrame(String areaTitle, long nanos) {
+        if (!ENABLED) return;
+        histograms(areaTitle).get(Phase.FRAME).record(nanos);
+    }
+
+    /**
+     * Start of an area update; opens the UPDATE phase.
+     */
+    public static void beginArea(String areaTitle) {
+        if (!ENABLED) return;
+        current = histograms(areaTitle);
+        areaStart = System.nanoTime();
+        phase = Phase.UPDATE;
+        phaseStart = areaStart;
+    }
+
+    /**
+     * Switches to the given phase if it comes after the current one; later marks
+     * of the same or an earlier phase are ignored.
+     */
+    public static void mark(Phase next) {
+        if (!ENABLED || current == null || next.ordinal() <= phase.ordinal()) return;
+        long now = System.nanoTime();
+        current.get(phase).record(now - phaseStart);
+        phase = next;
+        phaseStart = now;
+    }
+
+    /**
+     * End of an area update; closes the open phase.
+     */
+    public static void endArea() {
+        if (!ENABLED || current == null) return;
+        long now = System.nanoTime();
+        current.get(phase).record(now - phaseStart);
+        current.get(Phase.AREA).record(now - areaStart);
+        current = null;
+    }
+
+    /**
+     * Start of the draw pass of an area; opens the DRAW phase.
+     */
+    public static void beginDraw(String areaTitle) {
+        if (!ENABLED) return;
+        current = histograms(areaTitle);
+        phase = Phase.DRAW;
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * End of the draw pass; records it in DRAW only, AREA measuring the updates.
+     */
+    public static void endDraw() {
+        if (!ENABLED || current == null) return;
+        current.get(Phase.DRAW).record(System.nanoTime() - phaseStart);
+        current = null;
+    }
+
+    /**
+     * Prints count, mean, p50, p99 and max per area and phase, in microseconds.
+     */
+    public static void dump(PrintStream out) {
+        out.printf("%-16s %-12s %9s %9s %9s %9s %9s%n", "area", "phase", "count", "mean", "p50", "p99", "max");
+        for (Map.Entry<String, Map<Phase, LatencyHistogram>> area : AREAS.entrySet()) {
+            for (Map.Entry<Phase, LatencyHistogram> entry : area.getValue().entrySet()) {
+                LatencyHistogram h = entry.getValue();
+                if (h.count() == 0) continue;
+                out.printf("%-16s %-12s %9d %9.1f %9.1f %9.1f %9.1f%n",
+                        area.getKey(), entry.getKey(), h.count(), h.mean() / 1e3,
+                        h.percentile(50) / 1e3, h.percentile(99) / 1e3, h.max() / 1e3);
+            }
+        }
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public static void reset() {
+        AREAS.clear();
+        current = null;
+    }
+
+    private static Map<Phase, LatencyHistogram> histograms(String areaTitle) {
+        return AREAS.computeIfAbsent(areaTitle, title -> {
+            Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+            for (Phase p : Phase.values()) phases.put(p, new LatencyHistogram());
+            return phases;
+        });
+    }
+
+    private static void dumpOnExit() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null) {
+            dump(System.out);
+            return;
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(file)), true, StandardCharsets.UTF_8)) {
+            dump(out);
+        } catch (IOException e) {
+            System.err.println("TickProfiler: cannot write " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ch.epfl.cs107.icmaze.actor.util;
+
+/**
+ * Hierarchical timer wheel counting simulation ticks.
+ *
+ * Timers are kept in 4 levels of 64 slots: level 0 holds the timers due in
+ * the next 64 ticks, level 1 the next 64 * 64, and so on. A timer sits in the
+ * slot of its deadline at the lowest level that still tells it apart from the
+ * current tick, and moves down a level each time that level's slot comes up.
+ * Scheduling, cancelling and rescheduling are O(1), and a tick only touches
+ * the timers that are due (plus an occasional cascade), so a waiting timer
+ * costs nothing. Deadlines are whole ticks: nothing drifts.
+ *
+ * The wheel is advanced by its area once per simulation step, on the game thread.
+ */
+public final class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private long tick;
+
+    /**
+     * @return the number of ticks elapsed since the wheel was created
+     */
+    public long now() {
+        return tick;
+    }
+
+    /**
+     * @return a new timer of this wheel running the callback when it fires, not yet scheduled
+     */
+    public Timer timer(Runnable callback) {
+        return new Timer(this, callback);
+    }
+
+    /**
+     * Moves to the next tick and fires the timers due on it.
+     */
+    public void advance() {
+        ++tick;
+
+        // Bring down the timers of the higher levels whose slot comes up, highest level first
+        int top = 0;
+        while (top < LEVELS - 1 && (tick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            ++top;
+        }
+        for (int level = top; level >= 1; --level) {
+            cascade(level, (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+
+        int slot = (int) tick & SLOT_MASK;
+        Timer due = slots[0][slot];
+        slots[0][slot] = null;
+        while (due != null) {
+            Timer next = due.next;
+            due.unlink();
+            if (due.deadline > tick) {
+                // Deadline beyond the range of the wheel: wait one more round
+                insert(due);
+            } else {
+                due.callback.run();
+            }
+            due = next;
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.unlink();
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(Timer timer) {
+        long differing = timer.deadline ^ tick;
+        int level = 0;
+        while (level < LEVELS - 1 && (differing >>> (SLOT_BITS * (level + 1))) != 0) {
+            ++level;
+        }
+        int slot = (int) (timer.deadline >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        Timer head = slots[level][slot];
+        timer.next = head;
+        timer.previous = null;
+        if (head != null) head.previous = timer;
+        slots[level][slot] = timer;
+        timer.level = level;
+        timer.slot = slot;
+    }
+
+    private void remove(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.previous = timer.previous;
+        timer.unlink();
+    }
+
+    /**
+     * A callback scheduled on a wheel; it can be cancelled and scheduled again at will.
+     */
+    public static final class Timer {
+
+        private final TimerWheel wheel;
+        private final Runnable callback;
+
+        private long deadline;
+        private int level = -1;
+        private int slot;
+        private Timer previous;
+        private Timer next;
+
+        private Timer(TimerWheel wheel, Runnable callback) {
+            this.wheel = wheel;
+            this.callback = callback;
+        }
+
+        /**
+         * Schedules the timer to fire in the given number of ticks (at least one),
+         * replacing any previous schedule.
+         */
+        public void schedule(long delay) {
+            cancel();
+            deadline = wheel.tick + Math.max(1, delay);
+            wheel.insert(this);
+        }
+
+        public void cancel() {
+            if (isPending()) wheel.remove(this);
+        }
+
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        /**
+         * @return the number of ticks before the timer fires, 0 if it is not pending
+         */
+        public long remaining() {
+            return isPending() ? deadline - wheel.tick : 0;
+        }
+
+        private void unlink() {
+            previous = null;
+            next = null;
+            level = -1;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package ch.epfl.cs107.icmaze.actor;
 
+import ch.epfl.cs107.icmaze.area.ICMazeArea;
 import ch.epfl.cs107.icmaze.handler.ICMazeInteractionVisitor;
+import ch.epfl.cs107.icmaze.handler.InteractionTable;
+import ch.epfl.cs107.icmaze.profiling.ActorMetrics;
+import ch.epfl.cs107.icmaze.profiling.TickProfiler;
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
@@ -22,6 +26,11 @@ public class WaterProjectile extends Projectile {
                 ANIMATION_DURATION / 4, true);
     }
 
+    @Override
+    protected void onReset() {
+        animation.reset();
+    }
+
     @Override
     public int getDamage() {
         return DAMAGE;
@@ -35,19 +44,21 @@ public class WaterProjectile extends Projectile {
 
     @Override
     public void draw(Canvas canvas) {
+        if (!ICMazeArea.isDrawing(getOwnerArea())) return;
+        ActorMetrics.enter(this, ActorMetrics.Kind.DRAW);
         animation.draw(canvas);
     }
 
     @Override
     public void interactWith(Interactable other, boolean isCellInteraction) {
-        other.acceptInteraction(handler, isCellInteraction);
+        ActorMetrics.interaction(this);
+        TickProfiler.mark(TickProfiler.Phase.INTERACTION);
+        InteractionTable.interact(handler, other, isCellInteraction);
     }
 
     @Override
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
-        if (v instanceof ICMazeInteractionVisitor visitor) {
-            visitor.interactWith(this, isCellInteraction);
-        }
+        InteractionTable.accept(v, this, isCellInteraction);
     }
 
     private class WaterProjectileInteractionHandler implements ICMazeInteractionVisitor {
@@ -58,12 +69,5 @@ public class WaterProjectile extends Projectile {
                 stopProjectile();
             }
         }
-
-        @Override
-        public void interactWith(Rock rock, boolean isCellInteraction) {
-            if (isCellInteraction) {
-                stopProjectile();
-            }
-        }
     }
 }
\ No newline at end of file
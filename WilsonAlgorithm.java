@@ -0,0 +1,71 @@
+package ch.epfl.cs107.icmaze.maze;
+
+import ch.epfl.cs107.icmaze.BitMaze;
+
+import java.util.Random;
+
+/**
+ * Wilson's algorithm: loop-erased random walks from every cell not yet in the
+ * maze until they hit it. Generates a uniform spanning tree (no directional bias).
+ */
+public final class WilsonAlgorithm extends AbstractMazeAlgorithm {
+
+    private static final int[] DI = {0, 1, 0, -1};
+    private static final int[] DJ = {1, 0, -1, 0};
+
+    @Override
+    public String getName() {
+        return "wilson";
+    }
+
+    @Override
+    protected BitMaze carve(int width, int height, int difficulty, Random rng) {
+        BitMaze maze = solid(width, height);
+        int cw = latticeWidth(width);
+        int ch = latticeHeight(height);
+        int cells = cw * ch;
+        if (cells == 0) return maze;
+
+        boolean[] inMaze = new boolean[cells];
+        // Direction last taken when leaving each cell during the current walk
+        byte[] exit = new byte[cells];
+
+        int root = rng.nextInt(cells);
+        inMaze[root] = true;
+        openCell(maze, root % cw, root / cw);
+
+        for (int start = 0; start < cells; ++start) {
+            if (inMaze[start]) continue;
+
+            // Random walk; overwriting exit[] erases loops implicitly
+            int current = start;
+            while (!inMaze[current]) {
+                int i = current % cw;
+                int j = current / cw;
+                int d;
+                int ni;
+                int nj;
+                do {
+                    d = rng.nextInt(4);
+                    ni = i + DI[d];
+                    nj = j + DJ[d];
+                } while (ni < 0 || nj < 0 || ni >= cw || nj >= ch);
+                exit[current] = (byte) d;
+                current = ni + nj * cw;
+            }
+
+            // Carve the loop-erased path
+            current = start;
+            while (!inMaze[current]) {
+                int i = current % cw;
+                int j = current / cw;
+                int d = exit[current];
+                inMaze[current] = true;
+                openCell(maze, i, j);
+                openWall(maze, i, j, DI[d], DJ[d]);
+                current = (i + DI[d]) + (j + DJ[d]) * cw;
+            }
+        }
+        return maze;
+    }
+}